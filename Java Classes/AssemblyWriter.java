@@ -0,0 +1,163 @@
+
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+//*************************************************************************************************
+// Begin AssemblyWriter Class
+//	This class writes a listing. Lines are rendered straight into one large byte buffer, which is
+//	written to a channel in bulk whenever it fills up and when the writer is flushed or closed,
+//	rather than each line going through a (synchronized, autoflushing) PrintStream.
+//
+//	Characters are written as single bytes (ISO-8859-1), the way the lexer reads them; anything
+//	outside of that range is written as '?'.
+//
+//*************************************************************************************************
+public class AssemblyWriter implements Closeable {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type					Description
+	// ---------		--------------------	-------------------------------------------
+	// BUFFER_SIZE		int						The size of the buffer, in bytes
+	// channel			WritableByteChannel		Where the listing goes
+	// closeChannel		boolean					Does closing the writer close the channel?
+	// bytes			byte[]					The buffer
+	// view				ByteBuffer				bytes, as handed to the channel
+	// count			int						The number of bytes in the buffer
+	// line				StringBuilder			Scratch space for rendering an instruction
+	//
+	//*********************************************************************************************
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private final WritableByteChannel channel;
+	private final boolean closeChannel;
+	private final byte[] bytes = new byte[BUFFER_SIZE];
+	private final ByteBuffer view = ByteBuffer.wrap(bytes);
+	private int count = 0;
+	private final StringBuilder line = new StringBuilder(64);
+
+
+	//*********************************************************************************************
+	// Begin Constructors
+	//		Initializes class variables. A writer made for a channel closes it when the writer is
+	//		closed.
+	//
+	//*********************************************************************************************
+	public AssemblyWriter(WritableByteChannel channel){
+		this(channel, true);
+	}
+
+	private AssemblyWriter(WritableByteChannel channel, boolean closeChannel){
+		this.channel = channel;
+		this.closeChannel = closeChannel;
+	}
+	//*********************************************************************************************
+	// End Constructors
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Factory Methods
+	//		A writer for a new file (through its FileChannel), or for standard out. Closing a
+	//		writer for standard out only flushes it.
+	//
+	//*********************************************************************************************
+	public static AssemblyWriter toFile(File file) throws IOException{
+		return new AssemblyWriter(new FileOutputStream(file).getChannel(), true);
+	}
+
+	public static AssemblyWriter toStandardOut(){
+		return new AssemblyWriter(Channels.newChannel(new FileOutputStream(FileDescriptor.out)), false);
+	}
+	//*********************************************************************************************
+	// End Factory Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Write Line Method
+	//		Writes the characters followed by a newline
+	//
+	//*********************************************************************************************
+	public void writeLine(CharSequence text) throws IOException{
+		char c;
+		for(int i = 0; i < text.length(); i++){
+			if(count == BUFFER_SIZE)
+				flush();
+			c = text.charAt(i);
+			bytes[count++] = c < 256 ? (byte) c : (byte) '?';
+		}
+		if(count == BUFFER_SIZE)
+			flush();
+		bytes[count++] = '\n';
+	}
+	//*********************************************************************************************
+	// End Write Line Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Write Section Method
+	//		Writes the heading and then each instruction of the section, one per line
+	//
+	//*********************************************************************************************
+	public void writeSection(String heading, List<Instruction> section) throws IOException{
+		writeLine(heading);
+		for(Instruction instruction : section){
+			line.setLength(0);
+			instruction.render(section, line);
+			writeLine(line);
+		}
+	}
+	//*********************************************************************************************
+	// End Write Section Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Flush Method
+	//		Writes out everything in the buffer
+	//
+	//*********************************************************************************************
+	public void flush() throws IOException{
+		view.clear();
+		view.limit(count);
+		while(view.hasRemaining())
+			channel.write(view);
+		count = 0;
+	}
+	//*********************************************************************************************
+	// End Flush Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Close Method
+	//		Flushes the writer and closes its channel (unless it is standard out)
+	//
+	//*********************************************************************************************
+	@Override
+	public void close() throws IOException{
+		try{
+			flush();
+		}finally{
+			if(closeChannel)
+				channel.close();
+		}
+	}
+	//*********************************************************************************************
+	// End Close Method
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End AssemblyWriter Class
+//*************************************************************************************************
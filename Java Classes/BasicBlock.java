@@ -0,0 +1,87 @@
+
+
+//*************************************************************************************************
+// Begin BasicBlock Class
+//	This class represents a basic block of quads: a run of quads that is only entered at its
+//	first quad and only left after its last. The blocks of a program, and the edges between them,
+//	are built by ControlFlowGraph.
+//
+//*************************************************************************************************
+public class BasicBlock {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		-----------		-------------------------------------------
+	// index			int				The block's position in the program (0 is the entry)
+	// start			int				The first quad of the block
+	// end				int				The last quad of the block (inclusive)
+	// successors		BasicBlock[]	The blocks control can pass to from this one
+	// predecessors		BasicBlock[]	The blocks control can pass to this one from
+	//
+	//*********************************************************************************************
+	private final int index;
+	private final int start;
+	private final int end;
+	BasicBlock[] successors;
+	BasicBlock[] predecessors;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables. The edges are filled in by ControlFlowGraph.
+	//
+	//*********************************************************************************************
+	BasicBlock(int index, int start, int end){
+		this.index = index;
+		this.start = start;
+		this.end = end;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Methods
+	//*********************************************************************************************
+	public int getIndex(){
+		return index;
+	}
+
+	public int getStart(){
+		return start;
+	}
+
+	public int getEnd(){
+		return end;
+	}
+
+	public BasicBlock[] getSuccessors(){
+		return successors;
+	}
+
+	public BasicBlock[] getPredecessors(){
+		return predecessors;
+	}
+	//*********************************************************************************************
+	// End Get Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin toString Method
+	//*********************************************************************************************
+	@Override
+	public String toString(){
+		return "B" + index + " [" + start + "-" + end + "]";
+	}
+	//*********************************************************************************************
+	// End toString Method
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End BasicBlock Class
+//*************************************************************************************************
@@ -0,0 +1,305 @@
+
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+//*************************************************************************************************
+// Begin BatchCompiler Class
+//	Compiles many source files in one JVM. The sources are taken from a directory (every ".fl"
+//	file beneath it) or from a manifest (a text file naming one source per line). Each source is
+//	compiled on a fork-join pool sized to the number of cores and its listing is written next to
+//	it with a ".X68" extension. A summary of compile times and throughput is printed at the end.
+//
+//	Usage: java BatchCompiler [-peephole=<rules>] <directory | manifest>
+//
+//	The peephole rules are given as for Parser: a comma separated list of PeepholeOptimizer.Rule
+//	names, "all" (the default) or "none".
+//
+//*************************************************************************************************
+public class BatchCompiler {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type					Description
+	// ---------		--------------------	-----------------------------------------------------
+	// SOURCE_EXT		String					Extension of the source files picked up in a directory
+	// LISTING_EXT		String					Extension of the listings that are written
+	// sources			List<File>				The source files to compile
+	// pool				ForkJoinPool			The pool the compilations run on
+	// peepholeRules	EnumSet					The peephole rules applied to every listing
+	//					<PeepholeOptimizer.Rule>
+	//
+	//*********************************************************************************************
+	private static final String SOURCE_EXT = ".fl";
+	private static final String LISTING_EXT = ".X68";
+	private List<File> sources;
+	private ForkJoinPool pool;
+	private EnumSet<PeepholeOptimizer.Rule> peepholeRules;
+
+
+	//*********************************************************************************************
+	// Begin Main Method
+	//		Collects the sources named by the argument, compiles them, and prints the summary.
+	//		Exits with a non-zero status if any file failed to compile.
+	//
+	//*********************************************************************************************
+	public static void main(String[] args) throws IOException, InterruptedException{
+		EnumSet<PeepholeOptimizer.Rule> rules = EnumSet.allOf(PeepholeOptimizer.Rule.class);
+		int first = 0;
+		if(args.length > 0 && args[0].startsWith("-peephole=")){
+			rules = PeepholeOptimizer.parseRules(args[0].substring("-peephole=".length()));
+			first = 1;
+		}
+		if(args.length != first + 1){
+			System.err.println("Usage: java BatchCompiler [-peephole=<rules>] <directory | manifest>");
+			System.exit(2);
+		}
+
+		BatchCompiler compiler = new BatchCompiler(collectSources(new File(args[first])), rules);
+		if(compiler.run(System.out) != 0)
+			System.exit(1);
+	}
+	//*********************************************************************************************
+	// End Main Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Constructors
+	//		Initializes class variables. The pool is sized to the number of available cores.
+	//		Every peephole rule is applied unless the rules to apply are given.
+	//
+	//*********************************************************************************************
+	public BatchCompiler(List<File> sources){
+		this(sources, EnumSet.allOf(PeepholeOptimizer.Rule.class));
+	}
+
+	public BatchCompiler(List<File> sources, EnumSet<PeepholeOptimizer.Rule> peepholeRules){
+		this.sources = sources;
+		this.peepholeRules = peepholeRules;
+		pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+	//*********************************************************************************************
+	// End Constructors
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Run Method
+	//		Compiles every source on the pool and prints one line per file followed by the totals
+	//		to the given stream. Returns the number of files that failed to compile.
+	//
+	// Variables		Type						Description
+	// ---------		------------------------	---------------------------------------------
+	// tasks			List<Callable<Result>>		One compilation per source
+	// start			long						Wall clock time the batch started (ns)
+	// elapsed			long						Wall clock time the batch took (ns)
+	// totalQuads		long						Quads generated across all files
+	// failed			int							Number of files that did not compile
+	//
+	//*********************************************************************************************
+	public int run(PrintStream report) throws InterruptedException{
+		List<Callable<Result>> tasks = new ArrayList<Callable<Result>>(sources.size());
+		long start, elapsed;
+		long totalQuads = 0;
+		int failed = 0;
+
+		for(final File source : sources){
+			tasks.add(new Callable<Result>(){
+				public Result call(){
+					return compileFile(source, peepholeRules);
+				}
+			});
+		}
+
+		start = System.nanoTime();
+		List<Future<Result>> futures = pool.invokeAll(tasks);
+		elapsed = System.nanoTime() - start;
+		pool.shutdown();
+
+		for(Future<Result> future : futures){
+			Result result;
+			try{
+				result = future.get();
+			}catch(ExecutionException e){
+				//compileFile catches everything it expects, so this is a bug in the compiler
+				throw new RuntimeException(e.getCause());
+			}
+
+			if(result.error == null){
+				report.println(String.format("%10.3f ms %8d quads  %s", result.nanos / 1e6,
+						result.quads, result.source.getPath()));
+				totalQuads += result.quads;
+			}else{
+				report.println(String.format("%10.3f ms   FAILED  %s: %s", result.nanos / 1e6,
+						result.source.getPath(), result.error));
+				failed++;
+			}
+		}
+
+		double seconds = elapsed / 1e9;
+		report.println(String.format("%d files (%d failed) in %.3f s on %d threads: %.1f files/s, %.1f quads/s",
+				sources.size(), failed, seconds, pool.getParallelism(),
+				sources.size() / seconds, totalQuads / seconds));
+		return failed;
+	}
+	//*********************************************************************************************
+	// End Run Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Compile File Method
+	//		Compiles a single source into the listing beside it and times the compilation. Errors
+	//		in the program are recorded in the result rather than thrown, so one bad file does
+	//		not stop the batch.
+	//
+	//*********************************************************************************************
+	private static Result compileFile(File source, EnumSet<PeepholeOptimizer.Rule> peepholeRules){
+		Result result = new Result(source);
+		long start = System.nanoTime();
+
+		try{
+			AssemblyWriter out = AssemblyWriter.toFile(listingFor(source));
+			try{
+				result.quads = Parser.compile(source, out, peepholeRules).getQuadsGenerated();
+			}finally{
+				out.close();
+			}
+		}catch(ParseException e){
+			result.error = e.getMessage();
+		}catch(TokenMgrError e){
+			result.error = e.getMessage();
+		}catch(IOException e){
+			result.error = e.toString();
+		}catch(RuntimeException e){
+			//Semantic errors (e.g. undeclared variables) are reported as RuntimeExceptions
+			result.error = e.getMessage();
+		}
+
+		//Don't leave a partial listing behind for a file that failed
+		if(result.error != null)
+			listingFor(source).delete();
+
+		result.nanos = System.nanoTime() - start;
+		return result;
+	}
+	//*********************************************************************************************
+	// End Compile File Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Collect Sources Method
+	//		Returns the sources named by the argument. A directory is searched recursively for
+	//		".fl" files; any other file is read as a manifest of source paths, one per line
+	//		(blank lines and lines starting with '#' are skipped, relative paths are taken
+	//		relative to the manifest).
+	//
+	//*********************************************************************************************
+	public static List<File> collectSources(File location) throws IOException{
+		List<File> sources = new ArrayList<File>();
+
+		if(location.isDirectory()){
+			findSources(location, sources);
+			Collections.sort(sources);
+		}else{
+			BufferedReader reader = new BufferedReader(new FileReader(location));
+			try{
+				String line;
+				while((line = reader.readLine()) != null){
+					line = line.trim();
+					if(line.isEmpty() || line.charAt(0) == '#')
+						continue;
+
+					File source = new File(line);
+					if(!source.isAbsolute())
+						source = new File(location.getAbsoluteFile().getParentFile(), line);
+					sources.add(source);
+				}
+			}finally{
+				reader.close();
+			}
+		}
+		return sources;
+	}
+	//*********************************************************************************************
+	// End Collect Sources Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Find Sources Method
+	//		Adds every ".fl" file in the directory and its subdirectories to the list
+	//
+	//*********************************************************************************************
+	private static void findSources(File directory, List<File> sources){
+		File[] files = directory.listFiles();
+		if(files == null)
+			return;
+
+		for(File file : files){
+			if(file.isDirectory())
+				findSources(file, sources);
+			else if(file.getName().endsWith(SOURCE_EXT))
+				sources.add(file);
+		}
+	}
+	//*********************************************************************************************
+	// End Find Sources Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Listing For Method
+	//		Returns the listing file for a source: the same path with the extension replaced
+	//		by ".X68"
+	//
+	//*********************************************************************************************
+	private static File listingFor(File source){
+		String name = source.getName();
+		int dot = name.lastIndexOf('.');
+		if(dot > 0)
+			name = name.substring(0, dot);
+		return new File(source.getParentFile(), name + LISTING_EXT);
+	}
+	//*********************************************************************************************
+	// End Listing For Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Result Class
+	//		The outcome of compiling one source: how long it took, how many quads it produced,
+	//		and the error message if it failed
+	//
+	//*********************************************************************************************
+	private static class Result {
+		File source;
+		long nanos;
+		int quads;
+		String error;
+
+		public Result(File source){
+			this.source = source;
+		}
+	}
+	//*********************************************************************************************
+	// End Result Class
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End BatchCompiler Class
+//*************************************************************************************************
@@ -0,0 +1,188 @@
+
+
+import java.util.ArrayList;
+//*************************************************************************************************
+// Begin BranchRelaxer Class
+//	This class picks the form of every jump in the code section, once all of the code has been
+//	generated. A jump can take one of three forms, each longer and slower than the one before:
+//
+//		Conditional		Bcc.S (2 bytes)		Bcc.W (4 bytes)		B!cc.S over a JMP (8 bytes)
+//		Unconditional	BRA.S (2 bytes)		BRA.W (4 bytes)		JMP (6 bytes)
+//
+//	A short branch reaches 126 bytes back or 128 bytes on (and not the next instruction), a
+//	word branch 32K either way, and JMP anywhere. Every jump starts in its shortest form. The
+//	code is laid out and each jump that can't reach its target is moved to the next form, which
+//	moves the code after it, so this is repeated until every jump reaches. Jumps only ever grow,
+//	so this always finishes.
+//
+//	Code outside of this class is generated with JMP (for a jump to another quad) and unsized
+//	Bcc/BRA instructions.
+//
+//*************************************************************************************************
+public class BranchRelaxer {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type					Description
+	// ---------		--------------------	-------------------------------------------
+	// code				ArrayList<Instruction>	The code section. Far conditional branches add
+	//											an instruction to it.
+	//
+	//*********************************************************************************************
+	private ArrayList<Instruction> code;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables
+	//
+	//*********************************************************************************************
+	public BranchRelaxer(ArrayList<Instruction> code){
+		this.code = code;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Relax Method
+	//		Picks the form of every jump. On return the code is laid out.
+	//
+	// Variables		Type				Description
+	// ---------		------------------	-------------------------------------------
+	// instruction		Instruction			The current instruction
+	// displacement		int					The distance from the end of a branch's operation
+	//										word to its target
+	// tooFar			ArrayList<Integer>	Conditional branches that need a JMP
+	// changed			boolean				Did any jump change form on this pass?
+	//
+	//*********************************************************************************************
+	public void relax(){
+		Instruction instruction;
+		int displacement;
+		ArrayList<Integer> tooFar = new ArrayList<Integer>();
+		boolean changed;
+
+		//Start every jump in its shortest form
+		for(Instruction i : code){
+			if(i.getOpcode() == Instruction.Opcode.JMP)
+				i.setOpcode(Instruction.Opcode.BRA);
+			if(i.getOpcode().isBranch())
+				i.setSize(Instruction.Size.S);
+		}
+
+		do{
+			Instruction.layout(code);
+			changed = false;
+
+			for(int i = 0; i < code.size(); i++){
+				instruction = code.get(i);
+				if(!instruction.getOpcode().isBranch())
+					continue;
+
+				displacement = code.get(instruction.getDestination().getValue()).getAddress()
+						- (instruction.getAddress() + 2);
+
+				//Short branch that can't reach, try a word branch
+				if(instruction.getSize() == Instruction.Size.S && !fitsShort(displacement)){
+					instruction.setSize(Instruction.Size.W);
+					changed = true;
+				}
+
+				//Word branch that can't reach, use a JMP
+				if(instruction.getSize() == Instruction.Size.W && !fitsWord(displacement)){
+					if(instruction.getOpcode() == Instruction.Opcode.BRA){
+						instruction.setOpcode(Instruction.Opcode.JMP);
+						instruction.setSize(Instruction.Size.NONE);
+					}else{
+						tooFar.add(i);
+					}
+					changed = true;
+				}
+			}
+
+			if(!tooFar.isEmpty()){
+				addJumps(tooFar);
+				tooFar.clear();
+			}
+		}while(changed);
+	}
+	//*********************************************************************************************
+	// End Relax Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Add Jumps Method
+	//		Replaces each of the given conditional branches (indexes into the code, in order)
+	//		with the inverse short branch over a JMP to the original target. Labels are
+	//		indexes into the code, so every label is moved past the new JMPs.
+	//
+	// Variables		Type					Description
+	// ---------		--------------------	-------------------------------------------
+	// expanded			ArrayList<Instruction>	The code with the JMPs added
+	// newIndex			int[]					Where each instruction ended up in expanded
+	// next				int						The next entry of branches to expand
+	// branch			int						Where a branch being expanded ended up
+	//
+	//*********************************************************************************************
+	private void addJumps(ArrayList<Integer> branches){
+		ArrayList<Instruction> expanded = new ArrayList<Instruction>(code.size() + branches.size());
+		int[] newIndex = new int[code.size()];
+		int next = 0;
+		int branch;
+
+		for(int i = 0; i < code.size(); i++){
+			newIndex[i] = expanded.size();
+			expanded.add(code.get(i));
+			if(next < branches.size() && branches.get(next) == i){
+				expanded.add(new Instruction(Instruction.Opcode.JMP, Instruction.Size.NONE,
+						code.get(i).getDestination()));
+				next++;
+			}
+		}
+
+		for(Instruction instruction : expanded)
+			if(instruction.getDestination() != null
+					&& instruction.getDestination().getKind() == EffectiveAddress.Kind.LABEL)
+				instruction.setDestination(EffectiveAddress.label(newIndex[instruction.getDestination().getValue()]));
+
+		//Each branch now skips over its JMP when its condition doesn't hold
+		for(int i : branches){
+			branch = newIndex[i];
+			expanded.get(branch).setOpcode(expanded.get(branch).getOpcode().inverse());
+			expanded.get(branch).setSize(Instruction.Size.S);
+			expanded.get(branch).setDestination(EffectiveAddress.label(branch + 2));
+		}
+
+		code.clear();
+		code.addAll(expanded);
+	}
+	//*********************************************************************************************
+	// End Add Jumps Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Fits Methods
+	//		Can a branch with the given displacement be a short (or word) branch? A short branch
+	//		with a displacement of 0 would be read as a word branch.
+	//
+	//*********************************************************************************************
+	private boolean fitsShort(int displacement){
+		return displacement != 0 && displacement >= -128 && displacement <= 127;
+	}
+
+	private boolean fitsWord(int displacement){
+		return displacement >= -32768 && displacement <= 32767;
+	}
+	//*********************************************************************************************
+	// End Fits Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End BranchRelaxer Class
+//*************************************************************************************************
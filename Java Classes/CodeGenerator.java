@@ -1,12 +1,14 @@
 
 
+import java.io.IOException;
 import java.util.ArrayList;
-
-import java.util.LinkedList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
 //*************************************************************************************************
 // Begin CodeGenerator Class
 //	This class handles code generation for a set of quads. It takes a set of quads and a symbol
-//	table and outputs the machine instructions to Standard Out.
+//	table and writes the machine instructions to an AssemblyWriter.
 //
 //*************************************************************************************************
 public class CodeGenerator {
@@ -17,29 +19,56 @@ public class CodeGenerator {
 	//
 	// Variables		Type							Description
 	// ---------		----------------------------	-------------------------------------------
-	// quadList			ArrayList<Quad>					The list of generated quads
-	// symbolTable		ArrayList<SymbolTableEntry>		The symbol table (SymbolTableEntry is 
+	// quadList			QuadBuffer						The list of generated quads
+	// symbolTable		SymbolTable						The symbol table (SymbolTable is 
 	//													described in its respective class)
-	// registerTable	ArrayList<LinkedList<String>>	An array of LinkedLists representing
-	//													the data registers
-	// tempStorage		ArrayList<String>				Storage instructions for temporary vars
+	// registers		RegisterFile					Which operands are in which data
+	//													registers
+	// LOCAL_REGISTERS	int								The number of data registers (from D0)
+	//													allocated within basic blocks
+	// DATA_HOMES		int[]							The data registers given out as home
+	//													registers
+	// ADDRESS_HOMES	int[]							The address registers given out as home
+	//													registers (A1 - A6, numbered from 8 for
+	//													A0; A0 is kept for putting strings)
+	// liveVariables	LiveVariables					The variables live on exit from each
+	//													basic block
+	// allocator		LinearScanAllocator				The home register of each variable
+	// currentBlock		BasicBlock						The basic block being compiled
+	// tempStorage		ArrayList<Instruction>			Storage directives for temporary vars
 	//													if they need an allocated memory location
-	// codeList			ArrayList<String>				Instructions generated for the main program
-	// dataStorage		ArrayList<String>				Storage instructions for nontemporaries
-	// programCounter	int								Holds the current instruction address		
-	// tempStgCounter	int								Holds the current temp storage address
-	// dataStgCounter	int								Holds the current nontemp storage address
-	//
-	//*********************************************************************************************
-	private  ArrayList<Quad> quadList = new ArrayList<Quad >();
-	private  ArrayList<SymbolTableEntry> symbolTable = new ArrayList<SymbolTableEntry >();
-	private  ArrayList<LinkedList<String>> registerTable = new ArrayList<LinkedList<String> >(8);
-	private ArrayList<String> tempStorage = new ArrayList<String>();
-	private ArrayList<String> codeList = new ArrayList<String>();
-	private ArrayList<String> dataStorage = new ArrayList<String>();
-	private int programCounter;
-	private int tempStgCounter;
-	private int dataStgCounter;
+	// hasTempStorage	BitSet							The slots of the temporaries that have
+	//													been given storage
+	// codeList			ArrayList<Instruction>			Instructions generated for the main program
+	// fixups			HashMap<Integer,				The forward jumps waiting for each quad's
+	//					ArrayList<Integer>>				code, as indexes into codeList
+	// dataStorage		ArrayList<Instruction>			Storage directives for nontemporaries
+	// peepholeRules	EnumSet<PeepholeOptimizer.Rule>	The peephole rules applied to the code
+	// fusedResult		int								The result of a comparison compiled
+	//													together with the jeqz after it, or
+	//													Operand.NONE
+	// fusedBranch		Instruction.Opcode				The branch taken when that comparison
+	//													holds
+	//
+	//*********************************************************************************************
+	private  QuadBuffer quadList;
+	private  SymbolTable symbolTable;
+	private static final int LOCAL_REGISTERS = 4;
+	private static final int[] DATA_HOMES = { 4, 5, 6, 7 };
+	private static final int[] ADDRESS_HOMES = { 9, 10, 11, 12, 13, 14 };
+	
+	private  RegisterFile registers;
+	private LiveVariables liveVariables;
+	private LinearScanAllocator allocator;
+	private BasicBlock currentBlock;
+	private ArrayList<Instruction> tempStorage = new ArrayList<Instruction>();
+	private BitSet hasTempStorage;
+	private ArrayList<Instruction> codeList = new ArrayList<Instruction>();
+	private HashMap<Integer, ArrayList<Integer>> fixups = new HashMap<Integer, ArrayList<Integer>>();
+	private ArrayList<Instruction> dataStorage = new ArrayList<Instruction>();
+	private EnumSet<PeepholeOptimizer.Rule> peepholeRules = EnumSet.allOf(PeepholeOptimizer.Rule.class);
+	private int fusedResult = Operand.NONE;
+	private Instruction.Opcode fusedBranch;
 	
 	
 	//*********************************************************************************************
@@ -47,19 +76,19 @@ public class CodeGenerator {
 	//		Initializes class variables. Adds ORG instructions to each of the instruction lists
 	//
 	//*********************************************************************************************
-	public CodeGenerator(ArrayList<Quad> quadList, ArrayList<SymbolTableEntry> symbolTable){
+	public CodeGenerator(QuadBuffer quadList, SymbolTable symbolTable){
 		this.quadList = quadList;
 		this.symbolTable = symbolTable;
 		
-		for(int i = 0; i < 8; i++)
-			registerTable.add(new LinkedList<String>());
+		registers = new RegisterFile(LOCAL_REGISTERS, symbolTable.size());
+		hasTempStorage = new BitSet(symbolTable.size());
 		
-		tempStorage.add("\tORG\t\t$4000");
-		tempStgCounter = 0x4000;
-		codeList.add("\tORG\t\t$1000");
-		programCounter = 0x1000;
-		dataStorage.add("\tORG\t\t$3000");
-		dataStgCounter = 0x3000;
+		tempStorage.add(new Instruction(Instruction.Opcode.ORG, Instruction.Size.NONE,
+				EffectiveAddress.absolute(0x4000), null));
+		codeList.add(new Instruction(Instruction.Opcode.ORG, Instruction.Size.NONE,
+				EffectiveAddress.absolute(0x1000), null));
+		dataStorage.add(new Instruction(Instruction.Opcode.ORG, Instruction.Size.NONE,
+				EffectiveAddress.absolute(0x3000), null));
 	}
 	//*********************************************************************************************
 	// End Constructor
@@ -69,176 +98,168 @@ public class CodeGenerator {
 	//*********************************************************************************************
 	// Begin Generate Code Method 
 	//		The entry point to begin code generation. Handles calling the appropriate method
-	//		to handle the operation.
+	//		to handle the operation. Once every quad has been compiled, the instructions are
+	//		given their addresses and the finished listing is written to the given writer.
 	//
 	// Variables		Type			Description
 	// ---------		-----------		-------------------------------------------
 	// quad				Quad			The current quad
-	// operation		String			The operation of the current quad 
-	// BBStart			int				The quad that marks the beginning of a basic blok
-	// BBEnd			int				The quad that marks the end of a basic block
+	// operation		QuadOp			The operation of the current quad 
+	// cfg				ControlFlowGraph	The basic blocks of the program
 	// curr				int				The current quad number
-	// finished			boolean			Have we reached the last basic block?
 	//
 	//*********************************************************************************************
-	public void genCode(){
+	public void genCode(AssemblyWriter out) throws IOException{
 		Quad quad;
-		String operation;
-		int BBStart = 0;
-		int BBEnd = 0;
+		QuadOp operation;
+		ControlFlowGraph cfg = new ControlFlowGraph(quadList);
 		int curr = 0;
-		boolean finished = false;
 
 		setupDataStorage();		//Allocate storage for non-temporaries
-		doBasicBlockAnalysis(); //Mark leaders
+		liveVariables = new LiveVariables(cfg, quadList, symbolTable);
+		allocator = new LinearScanAllocator(cfg, quadList, symbolTable, liveVariables,
+				DATA_HOMES, ADDRESS_HOMES);
 		
-		do{
-			//The end of the current block is the quad preceeding the next leader
-			BBEnd = getNextLeader(BBStart) - 1;
-			
-			//Is this the last basic block (getNextLeader returned -1)?
-			if(BBEnd == -1){
-				BBEnd = quadList.size()-1;
-				finished = true;
-			}
+		//Load the variables with home registers that are read before they are assigned
+		if(!cfg.getBlocks().isEmpty())
+			loadHomeRegisters(cfg.getBlocks().get(0));
 		
+		for(BasicBlock block : cfg.getBlocks()){
 			//Live variable analysis to set up next use information for current basic block
-			doLiveVarAnalysis(BBStart, BBEnd);
+			currentBlock = block;
+			doLiveVarAnalysis(block.getStart(), block.getEnd());
 			
 			//For each quad in the current basic block, call the appropriate method
-			for(curr = BBStart; curr <= BBEnd; curr ++){
+			for(curr = block.getStart(); curr <= block.getEnd(); curr ++){
 				quad = quadList.get(curr);
 				operation = quad.getOperation();
 				
-				//If this quad has an address already before it has been assigned one
-				//	indicates that this is the target of some forward jump
-				if(!quad.getAddress().equals("0"))
-					backpatchJump(quad);
-				
-				//Assign an address
-				quad.setAddress(Integer.toHexString(programCounter));
+				//Record where the quad's code starts, and point any forward jumps to this quad there
+				quad.setCodeIndex(codeList.size());
+				backpatchJumps(curr);
 
-				//Arthmetic & Unary
-				if(operation.equals("+")){
-					if(!quad.getArg2Name().equals(" "))
-						genArithLogicCode("ADD", quad, curr);
-				}else if(operation.equals("-")){
-					if(quad.getArg2Name().equals(" "))
-						genUnaryCode("NEG", quad, curr);
-					else
-						genArithLogicCode("SUB", quad, curr);
-				}else if(operation.equals("*")){
-					genArithLogicCode("MUL", quad, curr);
-				}else if(operation.equals("/")){
-					genArithLogicCode("DIV", quad, curr);
-				}else if(operation.equals("^")){
-					genUnaryCode("NOT", quad, curr);
-				}else if(operation.equals("&")){
-					genArithLogicCode("AND", quad, curr);
-				}else if(operation.equals("|")){
-					genArithLogicCode("OR", quad, curr);
-				}else if(operation.equals(":=")){
-					genAssignCode(quad, curr);
-				}
-				
-				
-				//Relational
-				else if(operation.equals("<")){
-					genRelationalCode("BLT", quad, curr);
-				}else if(operation.equals("<=")){
-					genRelationalCode("BLE", quad, curr);
-				}else if(operation.equals("=")){
-					genRelationalCode("BEQ", quad, curr);
-				}else if(operation.equals("/=")){
-					genRelationalCode("BNE", quad, curr);
-				}else if(operation.equals(">")){
-					genRelationalCode("BGT", quad, curr);
-				}else if(operation.equals(">=")){
-					genRelationalCode("BGE", quad, curr);
-				}
-				
-				
-				//Branches
-				else if(operation.equals("jeqz")){
-					genConditionalJumpCode(quad, curr);
-				}else if(operation.equals("jump")){
-					genUnconditionalJumpCode(quad, curr);
-				}
-				
-				
-				//I/O
-				else if(operation.equals("putInt")){
-					genPutCode("putInt", quad, curr);
-				}else if(operation.equals("putString")){
-					genPutCode("putString", quad, curr);
-				}else if(operation.equals("get")){
-					genGetCode(quad);
+				switch(operation){
+					//Arithmetic & Logical
+					case ADD: case SUB: case MUL: case DIV: case AND: case OR:
+						genArithLogicCode(operation.getMnemonic(), quad, curr);
+						break;
+					
+					//Unary
+					case NEG: case NOT: case SQRT: case ABS:
+						genUnaryCode(operation.getMnemonic(), quad, curr);
+						break;
+					
+					//Assignment (unary plus is just a copy of its operand)
+					case ASSIGN: case POS:
+						genAssignCode(quad, curr);
+						break;
+					
+					//Relational
+					case LT: case LE: case EQ: case NE: case GT: case GE:
+						genRelationalCode(operation.getMnemonic(), quad, curr);
+						break;
+					
+					//Branches
+					case JEQZ:
+						genConditionalJumpCode(quad, curr);
+						break;
+					case JUMP:
+						genUnconditionalJumpCode(quad, curr);
+						break;
+					
+					//I/O
+					case PUT_INT: case PUT_STRING:
+						genPutCode(operation, quad, curr);
+						break;
+					case GET:
+						genGetCode(quad);
+						break;
+					
+					case END: case NOP:
+						break;
 				}
 				
-				else if(operation.equals("SQRT") || operation.equals("sqrt")){
-					genUnaryCode("SQRT", quad, curr);
-				}else if(operation.equals("ABS") || operation.equals("abs")){
-					genUnaryCode("ABS", quad, curr);
-				}
+				//The quad's operands are next used where its next use information says
+				updateNextUses(quad);
 			}
 			
-			//End of Basic Block, move live variables to memory
+			//End of Basic Block, move the variables live on exit to memory
 			moveEverythingToMemory();
-			
-			//New start
-			BBStart = BBEnd + 1;
-		}while(!finished);
+		}
 		
 		//Instructions to halt the machine
-		codeList.add(Integer.toHexString(programCounter)+"\tMOVE.B\t#9,D0\t\t;Set up halt trap");
-		programCounter += 2;
-		codeList.add(Integer.toHexString(programCounter)+"\tTRAP\t\t#5\t;Halt program");
-		programCounter += 2;
+		emit(Instruction.Opcode.MOVE, Instruction.Size.B, EffectiveAddress.immediate(9), dataReg(0))
+			.setComment("Set up halt trap");
+		emit(Instruction.Opcode.TRAP, Instruction.Size.NONE, EffectiveAddress.immediate(5), null)
+			.setComment("Halt program");
+		
+		//Clean up the code, then pick the shortest form of every jump and give every
+		//instruction its address
+		PeepholeOptimizer peephole = new PeepholeOptimizer(codeList, peepholeRules);
+		peephole.optimize();
+		new BranchRelaxer(codeList).relax();
+		Instruction.layout(dataStorage);
+		Instruction.layout(tempStorage);
 		
-		//Print out all instructions to standard out
-		System.out.println("\n;-------------------Program Start------------------");
-		for(String s : codeList)
-			System.out.println(s);
-		System.out.println("\n;----------Non-Temporary & String Storage----------");
-		for(String s : dataStorage)
-			System.out.println(s);
-		System.out.println("\n;-----------------Temporary Storage----------------");
-		for(String s : tempStorage)
-			System.out.println(s);
+		//Write out all instructions
+		out.writeSection("\n;-------------------Program Start------------------", codeList);
+		out.writeSection("\n;----------Non-Temporary & String Storage----------", dataStorage);
+		out.writeSection("\n;-----------------Temporary Storage----------------", tempStorage);
+		
+		//Write out what the peephole optimizer did, as comments
+		if(!peephole.report().isEmpty()){
+			out.writeLine("\n;--------------Peephole Optimizations--------------");
+			for(String line : peephole.report())
+				out.writeLine(";" + line);
+		}
 	}
 	//*********************************************************************************************
 	// End Generate Code Method
 	//*********************************************************************************************
 	
 	
+	//*********************************************************************************************
+	// Begin Set Peephole Rules Method 
+	//		Chooses the peephole rules applied to the code (all of them, unless this is called
+	//		before genCode)
+	//
+	//*********************************************************************************************
+	public void setPeepholeRules(EnumSet<PeepholeOptimizer.Rule> rules){
+		peepholeRules = rules;
+	}
+	//*********************************************************************************************
+	// End Set Peephole Rules Method 
+	//*********************************************************************************************
+	
+	
 	//*********************************************************************************************
 	// Begin Generate Arithmetic & Logical Operator Code Method 
 	//		The method handles the generation of code for quads with an arithmetic or logical
 	//		operator.
 	//
-	//		Parameters: the machine language operator (i.e. "ADD"), the quad, and the quad number
+	//		Parameters: the machine language operator (i.e. ADD), the quad, and the quad number
 	//
 	// Variables		Type			Description
 	// ---------		-----------		-------------------------------------------
-	// arg1				String			The first operand
-	// arg2				String			The second operand
-	// result			String			The result/destination
-	// reg				int				The register returned from getReg
+	// arg1				int				The first operand
+	// arg2				int				The second operand
+	// result			int				The result/destination
+	// reg				int				The register returned from getResultReg
 	// reg2				int				The possible register that the second operand resides in
 	//
 	//*********************************************************************************************
-	private void genArithLogicCode(String op, Quad quad, int quadNum){
-		String arg1 = quad.getArg1Name();
-		String arg2 = quad.getArg2Name();
-		String result = quad.getResultName();
-		int reg = getReg(arg1, quad.getArg1NextUse(), quadNum);
+	private void genArithLogicCode(Instruction.Opcode op, Quad quad, int quadNum){
+		int arg1 = quad.getArg1();
+		int arg2 = quad.getArg2();
+		int result = quad.getResult();
+		int reg = getResultReg(quad, quadNum);
 		int reg2;
 		
 		//If operand1 is not in REG
-		if(!registerTable.get(reg).contains(arg1)){
+		if(find(arg1) != reg){
 			//If operand1 is in another register, copy it to REG
 			//else move it into REG from memory
-			if((reg2=findVariableInReg(arg1)) != -1){
+			if((reg2 = find(arg1)) != RegisterFile.NONE){
 				copyRegister(reg, reg2, arg1);
 			}else{
 				moveToRegister(reg, arg1);
@@ -249,26 +270,25 @@ public class CodeGenerator {
 		//else if operand2 is in another register, do the operation with the two registers
 		//else, if operand2 is a constant generate the immediate/quick version of the instruction
 		//	else, generate the appropriate machine instruction
-		if(arg1.equals(arg2)){
-			codeList.add(Integer.toHexString(programCounter)+"\t"+op + ".L\t\tD"+reg+",D"+reg);
-		}else if((reg2=findVariableInReg(arg2)) != -1){
-			codeList.add(Integer.toHexString(programCounter)+"\t"+op + ".L\t\tD"+reg2+",D"+reg);
+		if(arg1 == arg2){
+			emit(op, Instruction.Size.L, dataReg(reg), dataReg(reg));
+		}else if((reg2 = find(arg2)) != RegisterFile.NONE){
+			emit(op, Instruction.Size.L, anyReg(reg2), dataReg(reg));
 		}else{
-			if(isConstant(arg2)){
-				codeList.add(Integer.toHexString(programCounter)+"\t"+op + "I.L\t\t#"+arg2+",D"+reg);
+			if(Operand.isConstant(arg2)){
+				emit(op.immediateForm(), Instruction.Size.L, immediate(arg2), dataReg(reg));
 			}else{
-				codeList.add(Integer.toHexString(programCounter)+"\t"+op + ".L\t\t"+arg2+",D"+reg);
+				emit(op, Instruction.Size.L, memory(arg2), dataReg(reg));
 			}
 		}
-		programCounter += 2;
 		
-		//If operand1 is dead and in a register, move it to memory
-		if(quad.getArg1NextUse() == 0 && (reg2=findVariableInReg(arg1)) != -1)
-			moveToMemory(reg2, arg1);
+		//If operand1 is dead, free its register (its value is never needed again)
+		if(quad.getArg1NextUse() == 0)
+			discard(arg1);
 
-		//If operand2 is dead and in a register, move it to memory
-		if(quad.getArg2NextUse() == 0 && (reg2=findVariableInReg(arg2)) != -1)
-			moveToMemory(reg2, arg2);
+		//If operand2 is dead, free its register (its value is never needed again)
+		if(quad.getArg2NextUse() == 0)
+			discard(arg2);
 		
 		//Update the symbol and register tables to reflect the result's new location
 		updateTablesWithResult(result, reg);
@@ -286,26 +306,32 @@ public class CodeGenerator {
 	//
 	// Variables		Type			Description
 	// ---------		-----------		-------------------------------------------
-	// arg1				String			The first operand
-	// reg				int				The register returned from getReg
+	// arg1				int				The first operand
+	// reg				int				The register returned from getResultReg
 	// reg2				int				The possible register that the second operand resides in
 	//
 	//*********************************************************************************************
 	private void genAssignCode(Quad quad, int quadNum){
-		String arg1 = quad.getArg1Name();
-		int reg = getReg(arg1, quad.getArg1NextUse(), quadNum);
+		int arg1 = quad.getArg1();
+		int reg = getResultReg(quad, quadNum);
 		int reg2;
 		
-		//If operand1 isn't in a register, move it to REG
-		if(findVariableInReg(arg1) == -1)
-			moveToRegister(reg, arg1);
+		//If operand1 isn't in REG, copy it there from the register it is in, or move it
+		//there from memory
+		if(find(arg1) != reg){
+			if((reg2 = find(arg1)) != RegisterFile.NONE){
+				copyRegister(reg, reg2, arg1);
+			}else{
+				moveToRegister(reg, arg1);
+			}
+		}
 		
-		//If operand1 is dead and in a register, move it to memory
-		if(quad.getArg1NextUse() == 0 && (reg2 = findVariableInReg(arg1)) != -1)
-			moveToMemory(reg2, arg1);
+		//If operand1 is dead, free its register (its value is never needed again)
+		if(quad.getArg1NextUse() == 0)
+			discard(arg1);
 		
 		//Update the symbol and register tables to reflect the result's new location
-		updateTablesWithResult(quad.getResultName(), reg);
+		updateTablesWithResult(quad.getResult(), reg);
 	}
 	//*********************************************************************************************
 	// End Generate Assignment Operator Code Method  
@@ -316,39 +342,38 @@ public class CodeGenerator {
 	// Begin Generate Unary Operator Code Method 
 	//		The method handles the generation of code for quads with an unary operator.
 	//
-	//		Parameters: the machine language operator (i.e. "ADD"), the quad, and the quad number
+	//		Parameters: the machine language operator (i.e. NEG), the quad, and the quad number
 	//
 	// Variables		Type			Description
 	// ---------		-----------		-------------------------------------------
-	// arg1				String			The first operand
-	// reg				int				The register returned from getReg
+	// arg1				int				The first operand
+	// reg				int				The register returned from getResultReg
 	// reg2				int				The possible register that the second operand resides in
 	//
 	//*********************************************************************************************
-	private void genUnaryCode(String op, Quad quad, int quadNum){
-		String arg1 = quad.getArg1Name();
-		int reg = getReg(arg1, quad.getArg1NextUse(), quadNum);
+	private void genUnaryCode(Instruction.Opcode op, Quad quad, int quadNum){
+		int arg1 = quad.getArg1();
+		int reg = getResultReg(quad, quadNum);
 		int reg2;
 		
 		//If operand1 is not in REG
-		if(!registerTable.get(reg).contains(arg1)){
+		if(find(arg1) != reg){
 			//If operand1 is in another register, copy it to REG
 			//else move it from memory into REG
-			if((reg2=findVariableInReg(arg1)) != -1){
+			if((reg2 = find(arg1)) != RegisterFile.NONE){
 				copyRegister(reg, reg2, arg1);
 			}else{
 				moveToRegister(reg, arg1);
 			}
 		}
-		codeList.add(Integer.toHexString(programCounter)+"\t"+op + "\t\tD"+reg);
-		programCounter += 2;
+		emit(op, Instruction.Size.NONE, null, dataReg(reg));
 		
-		//If operand1 is dead and in a register, move it to memory
-		if(quad.getArg1NextUse() == 0 && (reg2 = findVariableInReg(arg1)) != -1)
-			moveToMemory(reg2, arg1);
+		//If operand1 is dead, free its register (its value is never needed again)
+		if(quad.getArg1NextUse() == 0)
+			discard(arg1);
 		
 		//Update the symbol and register tables to reflect the result's new location
-		updateTablesWithResult(quad.getResultName(), reg);
+		updateTablesWithResult(quad.getResult(), reg);
 	}
 	//*********************************************************************************************
 	// End Generate Unary Operator Code Method 
@@ -358,97 +383,127 @@ public class CodeGenerator {
 	//*********************************************************************************************
 	// Begin Generate Relational Operator Code Method 
 	//		The method handles the generation of code for quads with a relational operator.
+	//		If the result only decides the jeqz right after the quad, the operands are just
+	//		compared, and the jeqz branches on the flags (see genConditionalJumpCode). Else
+	//		the result is set to 1 or 0 with the Scc for the operator.
 	//
-	//		Parameters: the machine language operator (i.e. "BGT"), the quad, and the quad number
+	//		Parameters: the machine language operator (i.e. BGT), the quad, and the quad number
 	//
 	// Variables		Type			Description
 	// ---------		-----------		-------------------------------------------
-	// arg1				String			The first operand
-	// arg2				String			The second operand
-	// reg				int				The register returned from getReg
+	// arg1				int				The first operand
+	// arg2				int				The second operand
+	// reg				int				The register holding the first operand to compare
 	// reg2				int				The possible register that the second operand resides in
 	//
 	//*********************************************************************************************
-	private void genRelationalCode(String op, Quad quad, int quadNum){
-		String arg1 = quad.getArg1Name();
-		String arg2 = quad.getArg2Name();
-		int reg = getReg(arg1, quad.getArg1NextUse(),quadNum);
+	private void genRelationalCode(Instruction.Opcode op, Quad quad, int quadNum){
+		int arg1 = quad.getArg1();
+		int arg2 = quad.getArg2();
+		int reg;
 		int reg2;
 		
+		if(fusesWithJump(quad, quadNum)){
+			//Compare operand1 in the register it is in, or move it from memory into one
+			if((reg = find(arg1)) == RegisterFile.NONE){
+				reg = getReg(arg1, quad.getArg1NextUse(), quadNum);
+				moveToRegister(reg, arg1);
+			}
+			reg2 = find(arg2);
+			
+			//Prior to the jump, move the variables live on exit to memory. That is done before
+			//the compare, since moving a value sets the flags (the registers being compared are
+			//left as they are)
+			moveEverythingToMemory();
+			genCompare(arg2, reg, reg2);
+			
+			fusedResult = quad.getResult();
+			fusedBranch = op;
+			return;
+		}
+		
+		reg = getResultReg(quad, quadNum);
+		
 		//If operand1 is not in REG
-		if(!registerTable.get(reg).contains(arg1)){
+		if(find(arg1) != reg){
 			//If operand1 is in another register, copy it to REG
 			//else move it from memory into REG
-			if((reg2=findVariableInReg(arg1)) != -1){
+			if((reg2 = find(arg1)) != RegisterFile.NONE){
 				copyRegister(reg, reg2, arg1);
 			}else{
 				moveToRegister(reg, arg1);
 			}
 		}
+		genCompare(arg2, reg, find(arg2));
 		
-		//If operand2 is a constant, generate the immediate compare instruction
-		//elseif operand2 is in another register, generate the compare instruction with the two
-		//else generate the compare instruction using operand2 from memory
-		if(isConstant(arg2))
-			codeList.add(Integer.toHexString(programCounter)+"\tCMPI.L\t\t#"+ arg2 + ",D"  + reg);
-		else if((reg2=findVariableInReg(arg2)) != -1)
-			codeList.add(Integer.toHexString(programCounter)+"\tCMP.L\t\t"+ "D"+ reg2 + ",D"  + reg);
-		else
-			codeList.add(Integer.toHexString(programCounter)+"\tCMP.L\t\t"+ arg2 + ",D"  + reg);
-		
-		//Generate success/failure branches and corresponding instructions
-		programCounter += 2;
-		codeList.add(Integer.toHexString(programCounter)+"\t"+op+"\t\t"+ Integer.toHexString((programCounter + 6)));
-		programCounter += 2;
-		codeList.add(Integer.toHexString(programCounter)+"\tCLR.L\t\t"+ "D"+reg);
-		programCounter += 2;
-		codeList.add(Integer.toHexString(programCounter)+"\tBRA\t\t"+ Integer.toHexString((programCounter + 4)));
-		programCounter += 2;
-		codeList.add(Integer.toHexString(programCounter)+"\tMOVEQ.L\t\t#1,D"+ reg);
-		programCounter += 2;
+		//Set the low byte of REG to all ones if the relation holds and to zeros if it doesn't,
+		//then keep only its lowest bit, leaving 1 or 0
+		emit(op.setForm(), Instruction.Size.NONE, null, dataReg(reg));
+		emit(Instruction.Opcode.ANDI, Instruction.Size.L, EffectiveAddress.immediate(1), dataReg(reg));
 		
-		//If operand1 is dead and in a register, move it to memory
-		if(quad.getArg1NextUse() == 0 && (reg2 = findVariableInReg(arg1)) != -1)
-			moveToMemory(reg2, arg1);
+		//If operand1 is dead, free its register (its value is never needed again)
+		if(quad.getArg1NextUse() == 0)
+			discard(arg1);
 		
 		//Update the symbol and register tables to reflect the result's new location
-		updateTablesWithResult(quad.getResultName(), reg);
+		updateTablesWithResult(quad.getResult(), reg);
 	}
 	//*********************************************************************************************
 	// End Generate Relational Operator Code Method
 	//*********************************************************************************************	
 	
 	
+	//*********************************************************************************************
+	// Begin Fuses With Jump Method 
+	//		Returns true if the result of a relational quad is only used by a jeqz right after
+	//		it, in the same basic block, so that the jeqz can branch on the compare's flags
+	//
+	//*********************************************************************************************
+	private boolean fusesWithJump(Quad quad, int quadNum){
+		int next = quadNum + 1;
+		return next <= currentBlock.getEnd() && quadList.getOperation(next) == QuadOp.JEQZ
+				&& quadList.getArg1(next) == quad.getResult() && quad.getResultNextUse() == next
+				&& quadList.getArg1NextUse(next) == 0;
+	}
+	//*********************************************************************************************
+	// End Fuses With Jump Method 
+	//*********************************************************************************************	
+	
+	
+	//*********************************************************************************************
+	// Begin Generate Compare Method 
+	//		Compares the register holding the first operand with the second operand: as an
+	//		immediate if it is a constant, else from the register it is in (REG2) or from
+	//		memory. An address register is compared with CMPA.
+	//
+	//*********************************************************************************************
+	private void genCompare(int arg2, int reg, int reg2){
+		Instruction.Opcode compare = isAddressReg(reg) ? Instruction.Opcode.CMPA : Instruction.Opcode.CMP;
+		
+		if(Operand.isConstant(arg2))
+			emit(isAddressReg(reg) ? compare : Instruction.Opcode.CMPI, Instruction.Size.L, immediate(arg2), anyReg(reg));
+		else if(reg2 != RegisterFile.NONE)
+			emit(compare, Instruction.Size.L, anyReg(reg2), anyReg(reg));
+		else
+			emit(compare, Instruction.Size.L, memory(arg2), anyReg(reg));
+	}
+	//*********************************************************************************************
+	// End Generate Compare Method 
+	//*********************************************************************************************	
+	
+	
 	//*********************************************************************************************
 	// Begin Generate Unconditional Jump Code Method 
 	//		The method handles the generation of code for an unconditional jump
 	//
 	//		Parameters: the quad and the quad number
 	//
-	// Variables		Type			Description
-	// ---------		-----------		-------------------------------------------
-	// jumpTarget		int				The target quad number
-	// jumpQuad			Quad			The target quad
-	//
 	//*********************************************************************************************
 	private void genUnconditionalJumpCode(Quad quad, int quadNum){
-		int jumpTarget = Integer.parseInt(quad.getResultName());
-		Quad jumpQuad = quadList.get(jumpTarget); 
-		
-		//Before a jump, move everything live to memory
+		//Before a jump, move the variables live on exit to memory
 		moveEverythingToMemory();
 		
-		//If a backwards jump, then just generate the JMP instruction with the address of the target
-		//quad.
-		//Else put the current program counter in the target quad's address field so that the
-		//JMP instruction can be backpatched
-		if(jumpTarget <= quadNum){
-			codeList.add(Integer.toHexString(programCounter)+"\tJMP\t\t"+ jumpQuad.getAddress());
-		}else{
-			codeList.add(Integer.toHexString(programCounter)+"\tJMP\t\t"+jumpQuad.getAddress());
-			quadList.get(jumpTarget).setAddress(Integer.toHexString(programCounter));
-		}
-		programCounter += 2;
+		genJump(Instruction.Opcode.JMP, quad.getResult(), quadNum);
 	}
 	//*********************************************************************************************
 	// End Generate Unconditional Jump Code Method
@@ -457,81 +512,109 @@ public class CodeGenerator {
 	
 	//*********************************************************************************************
 	// Begin Generate Conditional Jump Code Method 
-	//		The method handles the generation of code for a conditional jump
+	//		The method handles the generation of code for a conditional jump. If the relational
+	//		quad before it was compiled with it, the flags are already set, and the jump is the
+	//		branch taken when the relation doesn't hold.
 	//
 	//		Parameters: the quad and the quad number
 	//
 	// Variables		Type			Description
 	// ---------		-----------		-------------------------------------------
-	// arg1				String			The first operand
+	// arg1				int				The first operand
 	// reg				int				The register returned from getReg
-	// jumpTarget		int				The target quad number
-	// jumpQuad			Quad			The target quad
 	//
 	//*********************************************************************************************
 	private void genConditionalJumpCode(Quad quad, int quadNum){
-		String arg1 = quad.getArg1Name();
-		int reg = getReg(arg1, quad.getArg1NextUse(),quadNum);
-		int jumpTarget = Integer.parseInt(quad.getResultName());
-		Quad jumpQuad = quadList.get(jumpTarget); 
+		int arg1 = quad.getArg1();
+		int reg;
+		
+		if(arg1 == fusedResult){
+			fusedResult = Operand.NONE;
+			genJump(fusedBranch.inverse(), quad.getResult(), quadNum);
+			return;
+		}
 		
-		//If operand1 is not in a register, move it to a REG
-		if(findVariableInReg(arg1) == -1)
+		//If operand1 is not in a register, move it to a REG, else test the register it is in
+		if((reg = find(arg1)) == RegisterFile.NONE){
+			reg = getReg(arg1, quad.getArg1NextUse(),quadNum);
 			moveToRegister(reg, arg1);
+		}
 		
-		//Prior to a jump, move all live variables to memory
+		//Prior to a jump, move the variables live on exit to memory (the register being tested
+		//is left as it is)
 		moveEverythingToMemory();
 		
-		//Generate test instruction
-		codeList.add(Integer.toHexString(programCounter)+"\tTST\t\tD"+reg);
-		programCounter+=2;
+		//Generate test instruction (of the whole long word; an unsized TST only tests the low word)
+		emit(Instruction.Opcode.TST, Instruction.Size.L, null, dataReg(reg));
 		
-		//If a backwards jump, then just generate the BEQ instruction with the address of the target
-		//quad.
-		//Else put the current program counter in the target quad's address field so that the
-		//BEQ instruction can be backpatched
+		genJump(Instruction.Opcode.BEQ, quad.getResult(), quadNum);
+	}
+	//*********************************************************************************************
+	// End Generate Conditional Jump Code Method 
+	//*********************************************************************************************
+	
+	
+	//*********************************************************************************************
+	// Begin Generate Jump Method 
+	//		Generates a jump or branch to a target quad. If a backwards jump, the target quad's
+	//		code is known. Else the target is left off and the instruction is recorded so that
+	//		it can be backpatched when code generation reaches the target quad.
+	//
+	//		Parameters: the jump or branch operation, the target quad number, and the quad number
+	//
+	//*********************************************************************************************
+	private void genJump(Instruction.Opcode op, int jumpTarget, int quadNum){
 		if(jumpTarget <= quadNum){
-			codeList.add(Integer.toHexString(programCounter)+"\tBEQ\t\t"+ jumpQuad.getAddress());
+			emit(op, Instruction.Size.NONE, null, EffectiveAddress.label(quadList.get(jumpTarget).getCodeIndex()));
 		}else{
-			codeList.add(Integer.toHexString(programCounter)+"\tBEQ\t\t"+jumpQuad.getAddress());
-			quadList.get(jumpTarget).setAddress(Integer.toHexString(programCounter));
+			emit(op, Instruction.Size.NONE, null, null);
+			addFixup(jumpTarget, codeList.size()-1);
 		}
-		programCounter += 2;
 	}
 	//*********************************************************************************************
-	// End Generate Conditional Jump Code Method 
-	//*********************************************************************************************	
+	// End Generate Jump Method 
+	//*********************************************************************************************
 	
 	
 	//*********************************************************************************************
 	// Begin Generate Put Code Method 
 	//		The method handles the generation of code for a put statement
 	//
-	//		Parameters: the quad operator (i.e. "putInt"), the quad, and the quad number
+	//		Parameters: the quad operation (PUT_INT or PUT_STRING), the quad, and the quad number
+	//
+	// Variables		Type			Description
+	// ---------		-----------		-------------------------------------------
+	// reg				int				The register the integer to put resides in
+	// inD0				boolean			Is the integer to put already in D0?
 	//
 	//*********************************************************************************************
-	private void genPutCode(String op, Quad quad, int quadNum){
-		//If D0 is occupied, move its contents to memory
-		for(int i = 0; i < registerTable.get(0).size(); i++)
-			moveToMemory(0, registerTable.get(i).remove());
+	private void genPutCode(QuadOp op, Quad quad, int quadNum){
+		int reg;
+		boolean inD0 = op == QuadOp.PUT_INT && registers.holds(0, quad.getArg1());
+		
+		//If D0 is occupied (by anything but the integer to put), move its contents out
+		clearD0(inD0 ? quad.getArg1() : Operand.NONE);
 		
-		//If putInt, then move operand1 into D0 and generate the trap 
+		//If putInt, then move operand1 into D0 (from its register if it is in one, since memory
+		//may not be up to date) and generate the trap 
 		//else if putString, memory label with be the string with no spaces, thus 
 		//do that and generate the move address into A0 and the trap
-		if(op.equals("putInt")){
-			codeList.add(Integer.toHexString(programCounter)+"\tMOVE.L\t\t"+quad.getArg1Name()+",D0");
-			programCounter += 2;
-			codeList.add(Integer.toHexString(programCounter)+"\tTRAP\t\t#2");
-			programCounter += 2;
+		if(op == QuadOp.PUT_INT){
+			if(!inD0){
+				if((reg = find(quad.getArg1())) != RegisterFile.NONE)
+					copyRegister(0, reg, quad.getArg1());
+				else
+					moveToRegister(0, quad.getArg1());
+			}
+			emit(Instruction.Opcode.TRAP, Instruction.Size.NONE, EffectiveAddress.immediate(2), null);
 		}else{
 			//Derive the string's memory-label by removing spaces and quotes
-			String noSpaces = quad.getArg1Name();
+			String noSpaces = name(quad.getArg1());
 			noSpaces = noSpaces.substring(1, noSpaces.length()-1).replaceAll(" ", "");
 			
-			codeList.add(Integer.toHexString(programCounter)+"\tMOVEA.L\t\t"+noSpaces+",A0");
-			programCounter += 2;
-			codeList.add(Integer.toHexString(programCounter)+"\tTRAP\t\t#3");
-			programCounter += 2;
+			emit(Instruction.Opcode.MOVEA, Instruction.Size.L, EffectiveAddress.absolute(noSpaces),
+					EffectiveAddress.addressRegister(0));
+			emit(Instruction.Opcode.TRAP, Instruction.Size.NONE, EffectiveAddress.immediate(3), null);
 		}
 	}
 	//*********************************************************************************************
@@ -547,18 +630,15 @@ public class CodeGenerator {
 	//
 	//*********************************************************************************************
 	private void genGetCode(Quad quad){
-		//If D0 is occupied, move its contents to memory
-		for(int i = 0; i < registerTable.get(0).size(); i++)
-			moveToMemory(0, registerTable.get(i).remove());
+		//If D0 is occupied, move its contents out
+		clearD0(Operand.NONE);
 		
 		//Clear D0 and generate the trap instruction
-		codeList.add(Integer.toHexString(programCounter)+"\tCLR.L\t\tD0");
-		programCounter += 2;
-		codeList.add(Integer.toHexString(programCounter)+"\tTRAP\t\t#1");
-		programCounter += 2;
+		emit(Instruction.Opcode.CLR, Instruction.Size.L, null, dataReg(0));
+		emit(Instruction.Opcode.TRAP, Instruction.Size.NONE, EffectiveAddress.immediate(1), null);
 		
 		//Update the symbol and register tables to reflect the result's new location
-		updateTablesWithResult(quad.getResultName(), 0);
+		updateTablesWithResult(quad.getResult(), 0);
 	}
 	//*********************************************************************************************
 	// End Generate Get Code Method 
@@ -572,13 +652,19 @@ public class CodeGenerator {
 	//		Parameters: the quad 
 	//
 	//*********************************************************************************************
-	private void moveToRegister(int register, String var){
-		if(isConstant(var)) //Generate move-quick instruction for constants.
-			codeList.add(Integer.toHexString(programCounter)+"\tMOVEQ.L\t\t#"+ var + ",D"  + register);
-		else
-			codeList.add(Integer.toHexString(programCounter)+"\tMOVE.L\t\t"+ var + ",D"  + register);
+	private void moveToRegister(int register, int var){
+		EffectiveAddress constant;
 		
-		programCounter += 2;
+		//Generate move-quick instruction for constants that fit in a byte, otherwise a move
+		//immediate
+		if(Operand.isConstant(var)){
+			constant = immediate(var);
+			if(constant.getValue() >= -128 && constant.getValue() <= 127 && !isAddressReg(register))
+				emit(Instruction.Opcode.MOVEQ, Instruction.Size.L, constant, dataReg(register));
+			else
+				emit(moveTo(register), Instruction.Size.L, constant, anyReg(register));
+		}else
+			emit(moveTo(register), Instruction.Size.L, memory(var), anyReg(register));
 	}
 	//*********************************************************************************************
 	// End Move To Register Method 
@@ -592,9 +678,8 @@ public class CodeGenerator {
 	//		Parameters: the source register, the destination register, and the variable
 	//
 	//*********************************************************************************************
-	private void copyRegister(int toRegister, int fromRegister, String var){
-		codeList.add(Integer.toHexString(programCounter)+"\tMOVE.L\t\tD" + fromRegister + ",D" + toRegister);
-		programCounter += 2;
+	private void copyRegister(int toRegister, int fromRegister, int var){
+		emit(moveTo(toRegister), Instruction.Size.L, anyReg(fromRegister), anyReg(toRegister));
 	}
 	//*********************************************************************************************
 	// End Copy Register Method 
@@ -608,20 +693,19 @@ public class CodeGenerator {
 	//		Parameters: the register and the variable 
 	//
 	//*********************************************************************************************
-	private void moveToMemory(int register, String var){
+	private void moveToMemory(int register, int var){
 		//If the variable is a temporary variable, don't move it to memory, just remove
 		//it from the register and update its location in the symbol table
-		if(var.charAt(0) == '$'){
-			registerTable.get(register).remove(var);
-			symbolTable.get(findSTEntryById(var))
+		if(Operand.isTemporary(var)){
+			registers.remove(var);
+			symbolTable.get(var)
 				.setLocation(SymbolTableEntry.Location.REMOVED);
 			
 		//Else generate the appropriate move instruction and update the register/symbol table	
 		}else{				
-			codeList.add(Integer.toHexString(programCounter)+"\tMOVE.L\t\t"+ "D"  + register + "," + var);
-			programCounter += 2;
-			registerTable.get(register).remove(var);
-			symbolTable.get(findSTEntryById(var))
+			emit(Instruction.Opcode.MOVE, Instruction.Size.L, dataReg(register), memory(var));
+			registers.remove(var);
+			symbolTable.get(var)
 				.setLocation(SymbolTableEntry.Location.MEMORY);
 		}
 	}
@@ -631,130 +715,99 @@ public class CodeGenerator {
 	
 	
 	//*********************************************************************************************
-	// Begin Update Tables With Result Method 
-	//		Updates the register and symbol table to reflect a variable in a register
+	// Begin Discard Method 
+	//		Takes a dead variable out of its register without storing it, if it is in one
 	//
-	//		Parameters: the register and the variable 
+	//		Parameters: the variable 
 	//
 	//*********************************************************************************************
-	private void updateTablesWithResult(String result, int register){
-		//Make sure it is in no other registers
-		removeVarFromAllRegs(result);
+	private void discard(int var){
+		if(registers.find(var) == RegisterFile.NONE)
+			return;
 		
-		//Update tables
-		if (!registerTable.get(register).contains(result))
-			registerTable.get(register).add(result);
-		symbolTable.get(findSTEntryById(result))
-			.setLocation(SymbolTableEntry.Location.getLocationFromValue(register));
+		registers.remove(var);
+		symbolTable.get(var).setLocation(Operand.isTemporary(var) ?
+				SymbolTableEntry.Location.REMOVED : SymbolTableEntry.Location.MEMORY);
 	}
 	//*********************************************************************************************
-	// End Update Tables With Result Method 
+	// End Discard Method 
 	//*********************************************************************************************	
 	
 	
 	//*********************************************************************************************
-	// Begin Remove Variable From All Registers Method 
-	//		Removes the specified variable from all registers
-	//
-	//		Parameters: the variable 
+	// Begin Update Tables With Result Method 
+	//		Updates the register and symbol table to reflect a variable in a register
 	//
-	//*********************************************************************************************
-	private void removeVarFromAllRegs(String var){
-		for(LinkedList<String> list : registerTable)
-			list.remove(var);
-	}
-	//*********************************************************************************************
-	// End Remove Variable From All Registers Method 
-	//*********************************************************************************************
-	
-	
-	//*********************************************************************************************
-	// Begin Do Basic Block Analysis Method 
-	//		Marks leaders in order to define basic blocks
+	//		Parameters: the register and the variable 
 	//
 	//*********************************************************************************************
-	private void doBasicBlockAnalysis(){
-		String op;
-		Quad quad;
-		int len = quadList.size();
-		
-		//First quad is a leader
-		quadList.get(0).setLeader(true);
+	private void updateTablesWithResult(int result, int register){
+		int home = allocator.getHome(result);
 		
-		//Also setting last quad to be a leader, since this will be the instruction that
-		//halts the machine (thus things need to be moved to memory beforehand)
-		quadList.get(quadList.size()-1).setLeader(true);
-		
-		for(int i = 0; i < len; i ++){
-			quad = quadList.get(i);
-			op = quad.getOperation();
-			
-			//If unconditional, mark target and following quad
-			if(op.equals("jeqz")){
-				//In case the jump target is to the end of the program (outside of quad list)
-				try{
-					quadList.get(Integer.parseInt(quad.getResultName())).setLeader(true);
-				}catch (IndexOutOfBoundsException e){	}
-				
-				//Check to make sure that there is actually a quad following this one
-				if(i != len - 1)
-					quadList.get(i+1).setLeader(true);
-			
-			//If conditional, mark target	
-			}else if(op.equals("jump")){
-				//In case the jump target is to the end of the program (outside of quad list)
-				try{
-					quadList.get(Integer.parseInt(quad.getResultName())).setLeader(true);
-				}catch (IndexOutOfBoundsException e){	}
-			}
+		//A variable with a home register is only ever kept there
+		if(home != RegisterFile.NONE){
+			if(register != home)
+				emit(moveTo(home), Instruction.Size.L, dataReg(register), anyReg(home));
+			return;
 		}
+		
+		//Update tables (this also takes it out of any other register)
+		registers.put(register, result);
+		symbolTable.get(result)
+			.setLocation(SymbolTableEntry.Location.getLocationFromValue(register));
 	}
 	//*********************************************************************************************
-	// End Do Basic Block Analysis Method 
-	//*********************************************************************************************
+	// End Update Tables With Result Method 
+	//*********************************************************************************************	
 	
 	
 	//*********************************************************************************************
 	// Begin Do Live Variable Analysis Method 
-	//		Performs live variable analysis and sets up next use information
+	//		Performs live variable analysis and sets up next use information. Each operand of
+	//		the block starts out with a next use of MAX_VALUE if it is live on exit from the
+	//		block (only variables can be) or 0 if it is dead, and the quads are then scanned
+	//		backwards. A quad's next use information is what holds just after it; the quad
+	//		then kills its result and uses its operands, in that order, so that an operand
+	//		that is also the result (x := x + 1) is live before the quad.
 	//
 	//*********************************************************************************************
 	private void doLiveVarAnalysis(int start, int end){
-		int curr = end;
-		int arg1Index, arg2Index, resultIndex; //Indexes into the symbol table
-		Quad quad;
+		int curr;
+		int arg1, arg2, result; //Operand handles
+		int arg1NextUse, arg2NextUse, resultNextUse;
 		
 		//Initialize next use to 0 or MAX VALUE
-		initializeSTNextUse();
+		for(curr = start; curr <= end; curr ++){
+			initializeNextUse(quadList.getArg1(curr));
+			initializeNextUse(quadList.getArg2(curr));
+			if(!quadList.getOperation(curr).isBranch())
+				initializeNextUse(quadList.getResult(curr));
+		}
 		
-		while((curr-start) >= 0){
-			quad = quadList.get(curr);
-			arg1Index = findSTEntryById(quad.getArg1Name());
-			arg2Index = findSTEntryById(quad.getArg2Name());
-			resultIndex = findSTEntryById(quad.getResultName());
+		for(curr = end; curr >= start; curr --){
+			arg1 = quadList.getArg1(curr);
+			arg2 = quadList.getArg2(curr);
+			result = quadList.getResult(curr);
 			
-			//If there is a first operand, copy next use from symbol table and
-			//set next use in the symbol table to the current quad#
-			if(arg1Index != -1){
-				quad.setArg1NextUse(symbolTable.get(arg1Index).getNextUse());	
-				symbolTable.get(arg1Index).setNextUse(curr);
-			}
+			//The result of a jump is its target quad, not an operand
+			if(quadList.getOperation(curr).isBranch())
+				result = Operand.NONE;
 			
-			//If there is a second operand, copy next use from symbol table and
-			//set next use in the symbol table to the current quad#
-			if(arg2Index != -1){
-				quad.setArg2NextUse(symbolTable.get(arg2Index).getNextUse());
-				symbolTable.get(arg2Index).setNextUse(curr);
-			}
+			//Copy each operand's next use from the symbol table to the quad
+			arg1NextUse = arg1 == Operand.NONE ? 0 : symbolTable.get(arg1).getNextUse();
+			arg2NextUse = arg2 == Operand.NONE ? 0 : symbolTable.get(arg2).getNextUse();
+			resultNextUse = result == Operand.NONE ? 0 : symbolTable.get(result).getNextUse();
+			quadList.setArg1NextUse(curr, arg1NextUse);
+			quadList.setArg2NextUse(curr, arg2NextUse);
+			quadList.setResultNextUse(curr, resultNextUse);
 			
-			//If there is a second operand, copy next use from symbol table and
-			//set next use in the symbol table to 0
-			if(resultIndex != -1){
-				quad.setResultNextUse(symbolTable.get(resultIndex).getNextUse());
-				symbolTable.get(resultIndex).setNextUse(0);
-			}
-
-			curr --;
+			//The result is dead before the quad, and the operands are next used by it
+			if(result != Operand.NONE)
+				symbolTable.get(result).setNextUse(0);
+			if(arg1 != Operand.NONE)
+				symbolTable.get(arg1).setNextUse(curr);
+			if(arg2 != Operand.NONE)
+				symbolTable.get(arg2).setNextUse(curr);
 		}
 	}
 	//*********************************************************************************************
@@ -763,124 +816,115 @@ public class CodeGenerator {
 
 	
 	//*********************************************************************************************
-	// Begin Get Next Leader Method 
-	//		Returns the next basic block leader
+	// Begin Initialize Next Use Method 
+	//		Sets an operand's next use to MAX_VALUE if it is live on exit from the current
+	//		block, or to 0 otherwise
 	//
 	//*********************************************************************************************
-	private int getNextLeader(int curr){
-		for(int i = curr + 1; i < quadList.size(); i ++){
-			if(quadList.get(i).isLeader())
-				return i;
-		}
-		return 0;
+	private void initializeNextUse(int operand){
+		if(operand == Operand.NONE)
+			return;
+		symbolTable.get(operand).setNextUse(
+				liveVariables.isLiveOut(currentBlock, operand) ? Integer.MAX_VALUE : 0);
 	}
 	//*********************************************************************************************
-	// End Get Next Leader Method 
+	// End Initialize Next Use Method 
 	//*********************************************************************************************
-	
+
 	
 	//*********************************************************************************************
-	// Begin Initialize Symbol Table Next Use Method 
-	//		Sets all constants and temporary next uses to 0 and sets non-temporaries to MAX_VALUE
+	// Begin Name Method 
+	//		Returns the name of an operand, as it appears in the assembly (e.g. a variable's
+	//		label or a constant's value)
 	//
 	//*********************************************************************************************
-	private void initializeSTNextUse(){
-		for(SymbolTableEntry entry : symbolTable){
-			if(entry.getIdentifier().charAt(0) <= '9'){
-				if(entry.getNextUse() == 0)
-					continue;
-				entry.setNextUse(0);
-			}else{
-				if(entry.getNextUse() == Integer.MAX_VALUE)
-					continue;
-				entry.setNextUse(Integer.MAX_VALUE);
-			}
-		}
+	private String name(int operand)
+	{
+		return symbolTable.getName(operand);
 	}
 	//*********************************************************************************************
-	// End Initialize Symbol Table Next Use Method 
+	// End Name Method 
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Find Symbol Table Entry By Id Method 
-	//		Searches the symbol table for an entry matching the passed in identifier.
-	//		Returns either the index into the symbol table, if found, or -1 if not found.
+	// Begin Operand Methods
+	//		Build the effective address of a data register, of any register (numbered from 8
+	//		for A0), of an operand's memory location (its label), or of a constant as an
+	//		immediate.
 	//
 	//*********************************************************************************************
-	private int findSTEntryById(String id)
-	{
-		String test = id.toUpperCase();
-		int index = 0;
-		for(SymbolTableEntry current : symbolTable){
-			if(current.getIdentifier().equals(test))
-				return index;
+	private EffectiveAddress dataReg(int register){
+		return EffectiveAddress.dataRegister(register);
+	}
 
-			index++;	
-		}
-		return -1;
+	private EffectiveAddress anyReg(int register){
+		return EffectiveAddress.register(register);
+	}
+
+	private static boolean isAddressReg(int register){
+		return register >= 8;
+	}
+
+	//The instruction that moves a value into the register (MOVEA for address registers)
+	private static Instruction.Opcode moveTo(int register){
+		return isAddressReg(register) ? Instruction.Opcode.MOVEA : Instruction.Opcode.MOVE;
+	}
+
+	private EffectiveAddress memory(int operand){
+		return EffectiveAddress.absolute(name(operand));
+	}
+
+	private EffectiveAddress immediate(int constant){
+		return EffectiveAddress.immediate(symbolTable.getValue(constant));
 	}
 	//*********************************************************************************************
-	// End Find Symbol Table Entry By Id Method 
+	// End Operand Methods
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Find Variable In Register Method
-	//		Searches the register table for a specific variable. Returns the register number
-	//		if found or -1 if not found
+	// Begin Emit Method
+	//		Appends an instruction to the code list and returns it
 	//
 	//*********************************************************************************************
-	private int findVariableInReg(String var){
-		for(int i = 0; i < registerTable.size(); i++)
-			if(registerTable.get(i).contains(var))
-				return i;
-		return -1;
+	private Instruction emit(Instruction.Opcode op, Instruction.Size size, EffectiveAddress source,
+			EffectiveAddress destination){
+		Instruction instruction = new Instruction(op, size, source, destination);
+		codeList.add(instruction);
+		return instruction;
 	}
 	//*********************************************************************************************
-	// End Find Variable In Register Method
+	// End Emit Method
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
 	// Begin Get Register Method 
-	//		Returns a register based on the argument, next use, and the current quad
+	//		Returns a register based on the argument, next use, and the current quad. If every
+	//		register is in use, the one chosen by chooseSpillReg is emptied: dead values in it
+	//		are dropped and the rest are stored.
 	//
 	//*********************************************************************************************
-	private int getReg(String argument, int nextUse, int currQuad){
-		SymbolTableEntry arg1 = symbolTable.get(findSTEntryById(argument));
+	private int getReg(int argument, int nextUse, int currQuad){
+		SymbolTableEntry arg1 = symbolTable.get(argument);
 		SymbolTableEntry.Location location = arg1.getLocation();
 		int reg;
-		String head;
 
 		//If the operand is in a register by itself and is dead, return that register 
 		if(isInRegWithNoOthers(location) && nextUse == 0){
 			return location.value;
 			
 		//Else if, return an empty register, if there is one
-		}else if((reg =findEmptyReg()) != -1){
+		}else if((reg =findEmptyReg()) != RegisterFile.NONE){
 			return reg;
 		
 		//All Registers are Full
 		}else{
-			//Choosing D1 by default to empty out
-			while(!registerTable.get(1).isEmpty()){
-				head = registerTable.get(1).remove();
-				
-				//If there is a temporary variable, then move it to memory as it could still be live
-				//in the middle of a basic block. Dynamically allocate it a storage space
-				if(head.charAt(0) == '$'){
-					tempStorage.add(Integer.toHexString(tempStgCounter)+"\t"+head+"\tDC.W\t0");
-					tempStgCounter += 2;
-				}
-				
-				//Move the variable to storage
-				codeList.add(Integer.toHexString(programCounter)+"\tMOVE.L\t\tD1," + head);
-				programCounter += 2;
-				symbolTable.get(findSTEntryById(head)).setLocation(SymbolTableEntry.Location.MEMORY);			  
-			}
-			//Return D1
-			return 1;
+			reg = chooseSpillReg();
+			while(!registers.isEmpty(reg))
+				spill(reg, registers.first(reg));
+			return reg;
 		}
 	}
 	//*********************************************************************************************
@@ -889,144 +933,284 @@ public class CodeGenerator {
 
 	
 	//*********************************************************************************************
-	// Begin Is In Register With No Others Method 
-	//		Return true if a given register has only one item in it
+	// Begin Spill Method 
+	//		Takes a value out of its register, storing it unless it is dead
+	//
+	//		Parameters: the register and the variable 
 	//
 	//*********************************************************************************************
-	private boolean isInRegWithNoOthers(SymbolTableEntry.Location l){
-		if(l != SymbolTableEntry.Location.MEMORY){
-			if(l == SymbolTableEntry.Location.REMOVED)
-				return false;
-			if(registerTable.get(l.value).size() == 1)
-				return true;
+	private void spill(int register, int var){
+		if(symbolTable.get(var).getNextUse() == 0){
+			discard(var);
+			return;
 		}
-		return false;
+		
+		//If there is a temporary variable, then move it to memory as it could still be live
+		//in the middle of a basic block. Give it a storage space the first time
+		if(Operand.isTemporary(var) && !hasTempStorage.get(Operand.slot(var))){
+			hasTempStorage.set(Operand.slot(var));
+			tempStorage.add(new Instruction(Instruction.Opcode.DC, Instruction.Size.W,
+					EffectiveAddress.immediate(0), null).setLabel(name(var)));
+		}
+		
+		//Move the variable to storage
+		emit(Instruction.Opcode.MOVE, Instruction.Size.L, dataReg(register), memory(var));
+		registers.remove(var);
+		symbolTable.get(var).setLocation(SymbolTableEntry.Location.MEMORY);
 	}
 	//*********************************************************************************************
-	// End Is In Register With No Others Method 
+	// End Spill Method 
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Find Empty Register Method 
-	//		Return the index of an empty register, or -1 if there isn't one available.
+	// Begin Clear D0 Method 
+	//		Empties D0 (except for the given operand) before an I/O trap uses it. Dead values
+	//		are dropped, and the rest move to an empty register, or are spilled if there isn't
+	//		one.
+	//
+	//		Parameters: the operand to leave in D0, or Operand.NONE
 	//
 	//*********************************************************************************************
-	private int findEmptyReg(){
-		for(int i = 1; i < registerTable.size(); i++)
-			if(registerTable.get(i).isEmpty())
-				return i;
-		return -1;
+	private void clearD0(int keep){
+		int reg;
+		for(int var = registers.first(0); var != Operand.NONE; var = registers.next(0, var)){
+			if(var == keep)
+				continue;
+			if(symbolTable.get(var).getNextUse() != 0 && (reg = registers.findEmpty(1)) != RegisterFile.NONE){
+				copyRegister(reg, 0, var);
+				updateTablesWithResult(var, reg);
+			}else{
+				spill(0, var);
+			}
+		}
 	}
 	//*********************************************************************************************
-	// End Find Empty Register Method 
+	// End Clear D0 Method 
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Move Everything To Memory Method 
-	//		Moves all variables in a register to memory
+	// Begin Choose Spill Register Method 
+	//		Chooses the register to empty when every register is in use (Belady's rule): the
+	//		one whose contents are next needed furthest in the future. A register's contents
+	//		are needed at the nearest next use of anything in it, and values live only on exit
+	//		from the block (MAX_VALUE) are needed last. Dead values cost nothing to drop, so
+	//		between registers needed equally late, the one with the fewest values to store is
+	//		chosen.
+	//
+	// Variables		Type			Description
+	// ---------		-----------		-------------------------------------------
+	// needed			int				When the register's contents are next needed
+	// stores			int				How many of its values would have to be stored
 	//
 	//*********************************************************************************************
-	private void moveEverythingToMemory(){
-		for(int i = 0; i < registerTable.size(); i++){
-			while(!registerTable.get(i).isEmpty()){
-				moveToMemory(i, registerTable.get(i).remove());
+	private int chooseSpillReg(){
+		int best = 0;
+		int bestNeeded = -1;
+		int bestStores = 0;
+		int needed;
+		int stores;
+		int nextUse;
+		
+		for(int reg = 0; reg < registers.getRegisterCount(); reg++){
+			needed = Integer.MAX_VALUE;
+			stores = 0;
+			for(int var = registers.first(reg); var != Operand.NONE; var = registers.next(reg, var)){
+				nextUse = symbolTable.get(var).getNextUse();
+				if(nextUse == 0)
+					continue;
+				stores++;
+				needed = Math.min(needed, nextUse);
+			}
+			
+			if(needed > bestNeeded || (needed == bestNeeded && stores < bestStores)){
+				best = reg;
+				bestNeeded = needed;
+				bestStores = stores;
 			}
 		}
+		return best;
 	}
 	//*********************************************************************************************
-	// End Move Everything To Memory Method 
+	// End Choose Spill Register Method 
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Is Constant Method 
-	//		Returns true if the given variable is a constant (only constants may begin with a number)
+	// Begin Update Next Uses Method 
+	//		Once a quad has been compiled, sets the next use of each of its operands in the
+	//		symbol table to the one recorded on the quad, so that the symbol table always holds
+	//		the next use of everything after the current quad
 	//
 	//*********************************************************************************************
-	private boolean isConstant(String test){
-		return test.charAt(0) >= '0' && test.charAt(0) <= '9';
+	private void updateNextUses(Quad quad){
+		if(quad.getArg1() != Operand.NONE)
+			symbolTable.get(quad.getArg1()).setNextUse(quad.getArg1NextUse());
+		if(quad.getArg2() != Operand.NONE)
+			symbolTable.get(quad.getArg2()).setNextUse(quad.getArg2NextUse());
+		if(!quad.getOperation().isBranch() && quad.getResult() != Operand.NONE)
+			symbolTable.get(quad.getResult()).setNextUse(quad.getResultNextUse());
 	}
 	//*********************************************************************************************
-	// End Is Constant Method 
+	// End Update Next Uses Method 
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Backpatch Jump Method 
-	//		Goes through forward jump instructions and fixes their target address to be the current
-	//		address
+	// Begin Get Result Register Method 
+	//		Returns the register to compute a quad's result in: the result's home register if
+	//		it has one (unless the second operand is the result, which the first would
+	//		overwrite there, or it is an address register and the quad isn't a copy), or else
+	//		a register from getReg
 	//
 	//*********************************************************************************************
-	private void backpatchJump(Quad quad){
-		String newAddress = Integer.toHexString(programCounter); //Program counter
-		String address = ""+quad.getAddress(); //The address of the current quad
-		String curr;
-		int codeListIndex = 0;
+	private int getResultReg(Quad quad, int currQuad){
+		int home = allocator.getHome(quad.getResult());
+		
+		//An address register can only be moved into
+		if(isAddressReg(home) && quad.getOperation() != QuadOp.ASSIGN && quad.getOperation() != QuadOp.POS)
+			home = RegisterFile.NONE;
+		
+		if(home != RegisterFile.NONE && (quad.getArg2() != quad.getResult() || quad.getArg1() == quad.getResult()))
+			return home;
+		return getReg(quad.getArg1(), quad.getArg1NextUse(), currQuad);
+	}
+	//*********************************************************************************************
+	// End Get Result Register Method 
+	//*********************************************************************************************
 
-		do{
-			//Get the index into the code list based on the address in the current quad
-			codeListIndex = findInstructionByAddress(address);
-			curr = codeList.get(codeListIndex);
-			
-			//Get the address being referenced by the current instruction
-			address = getJumpTargetAddress(curr);
-			
-			//Cut out the target's target address and replace it with the current address
-			curr = curr.substring(0, curr.lastIndexOf("\t")+1);
-			curr = curr.concat(newAddress);
-			
-			//Replace the old instruction with the new instruction
-			codeList.set(codeListIndex, curr); 
-		}while(!address.equals("0"));
+	
+	//*********************************************************************************************
+	// Begin Find Method 
+	//		Returns the register holding an operand (its home register, if it has one), or
+	//		RegisterFile.NONE if it is only in memory
+	//
+	//*********************************************************************************************
+	private int find(int operand){
+		int home = allocator.getHome(operand);
+		return home != RegisterFile.NONE ? home : registers.find(operand);
 	}
 	//*********************************************************************************************
-	// End Backpatch Jump Method 
+	// End Find Method 
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Find Instruction By Address Method 
-	//		Goes through the code list searching for the instruction at the given address
+	// Begin Load Home Registers Method 
+	//		Moves each variable that has a home register and is live on entry to the program
+	//		from memory into its home register
 	//
 	//*********************************************************************************************
-	private int findInstructionByAddress(String address){
-		for(int i = 0; i < codeList.size(); i++)
-			if(getInstructionAddress(codeList.get(i)).equals(address))
-				return i;
+	private void loadHomeRegisters(BasicBlock entry){
+		int home;
+		for(SymbolTableEntry variable : symbolTable){
+			if(variable.getKind() != Operand.VARIABLE)
+				continue;
+			home = allocator.getHome(variable.getOperand());
+			if(home != RegisterFile.NONE && liveVariables.isLiveIn(entry, variable.getOperand()))
+				moveToRegister(home, variable.getOperand());
+		}
+	}
+	//*********************************************************************************************
+	// End Load Home Registers Method 
+	//*********************************************************************************************
 
-		return -1;
+	
+	//*********************************************************************************************
+	// Begin Is In Register With No Others Method 
+	//		Return true if a given register has only one item in it
+	//
+	//*********************************************************************************************
+	private boolean isInRegWithNoOthers(SymbolTableEntry.Location l){
+		if(l != SymbolTableEntry.Location.MEMORY){
+			if(l == SymbolTableEntry.Location.REMOVED)
+				return false;
+			if(registers.size(l.value) == 1)
+				return true;
+		}
+		return false;
 	}
 	//*********************************************************************************************
-	// End Find Instruction By Address Method 
+	// End Is In Register With No Others Method 
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Get Instruction Address Method 
-	//		Returns the address of the given instruction (the characters before the first tab)
+	// Begin Find Empty Register Method 
+	//		Return the index of an empty register, or -1 if there isn't one available.
 	//
 	//*********************************************************************************************
-	private String getInstructionAddress(String instruction){
-		return instruction.substring(0, instruction.indexOf("\t"));
+	private int findEmptyReg(){
+		return registers.findEmpty(0);
 	}
 	//*********************************************************************************************
-	// End Get Instruction Address Method 
+	// End Find Empty Register Method 
 	//*********************************************************************************************
 
 	
 	//*********************************************************************************************
-	// Begin Get Jump Target Address Method 
-	//		Returns the target jump address of the given jump instruction (the last
-	//		characters after the last tab)
+	// Begin Move Everything To Memory Method 
+	//		Empties the registers at the end of a basic block. Variables live on exit from the
+	//		block are moved to memory; everything else is dead and is dropped. (Everything in a
+	//		register was put there as a result and hasn't been stored since, so there is
+	//		nothing to skip for being up to date in memory already.)
 	//
 	//*********************************************************************************************
-	private String getJumpTargetAddress(String instruction){
-		return instruction.substring(instruction.lastIndexOf("\t")+1, instruction.length());
+	private void moveEverythingToMemory(){
+		int var;
+		for(int i = 0; i < registers.getRegisterCount(); i++){
+			while(!registers.isEmpty(i)){
+				var = registers.first(i);
+				if(liveVariables.isLiveOut(currentBlock, var))
+					moveToMemory(i, var);
+				else
+					discard(var);
+			}
+		}
+	}
+	//*********************************************************************************************
+	// End Move Everything To Memory Method 
+	//*********************************************************************************************
+
+	
+	//*********************************************************************************************
+	// Begin Add Fixup Method 
+	//		Records that the instruction at the given index in the code list is a forward jump
+	//		to the given quad
+	//
+	//*********************************************************************************************
+	private void addFixup(int targetQuad, int codeListIndex){
+		ArrayList<Integer> list = fixups.get(targetQuad);
+		if(list == null){
+			list = new ArrayList<Integer>(2);
+			fixups.put(targetQuad, list);
+		}
+		list.add(codeListIndex);
+	}
+	//*********************************************************************************************
+	// End Add Fixup Method 
+	//*********************************************************************************************
+
+	
+	//*********************************************************************************************
+	// Begin Backpatch Jumps Method 
+	//		Points every forward jump to the given quad at the next instruction to be generated,
+	//		which starts the quad's code. The jump instructions were generated with the target
+	//		left off.
+	//
+	//*********************************************************************************************
+	private void backpatchJumps(int quadNum){
+		ArrayList<Integer> list = fixups.remove(quadNum);
+		if(list == null)
+			return;
+
+		EffectiveAddress target = EffectiveAddress.label(codeList.size());
+		for(int codeListIndex : list)
+			codeList.get(codeListIndex).setDestination(target);
 	}
 	//*********************************************************************************************
-	// End Begin Get Jump Target Address Method 
+	// End Backpatch Jumps Method 
 	//*********************************************************************************************
 
 	
@@ -1045,25 +1229,24 @@ public class CodeGenerator {
 			id = entry.getIdentifier();
 			
 			//If the current entry is a constant or temporary, do nothing
-			if(id.charAt(0) == '$' || isConstant(id)){
+			if(entry.getKind() == Operand.TEMPORARY || entry.getKind() == Operand.CONSTANT){
 				continue;
 				
 			//If the current entry is a programmer-defined variable, allocate storage	
-			}else if(!(id.charAt(0) == '\"')){
-				dataStorage.add(Integer.toHexString(dataStgCounter)+"\t"+id+"\tDC.W\t0");
-				dataStgCounter += 2;
+			}else if(entry.getKind() == Operand.VARIABLE){
+				dataStorage.add(new Instruction(Instruction.Opcode.DC, Instruction.Size.W,
+						EffectiveAddress.immediate(0), null).setLabel(id));
 				
 			//If the current entry is a string, allocate storage. The label will be the
 			//string with spaces removed.
 			}else{
 				String noSpaces = id.substring(1, id.length()-1).replaceAll(" ", "");
-				dataStorage.add(Integer.toHexString(dataStgCounter)+"\t"+noSpaces+"\tDC.B\t"+
-						"\'"+id.substring(1, id.length()-1)+"\'");
-				dataStgCounter += id.length();
+				dataStorage.add(new Instruction(Instruction.Opcode.DC, Instruction.Size.B,
+						EffectiveAddress.text(id.substring(1, id.length()-1)), null).setLabel(noSpaces));
 				
 				//Place a null terminator so the trap instruction will know when to stop writing
-				dataStorage.add(Integer.toHexString(dataStgCounter)+"\t\tDC.B\t0\t;Null terminator");
-				dataStgCounter ++;
+				dataStorage.add(new Instruction(Instruction.Opcode.DC, Instruction.Size.B,
+						EffectiveAddress.immediate(0), null).setComment("Null terminator"));
 			}
 
 		}
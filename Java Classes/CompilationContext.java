@@ -0,0 +1,87 @@
+
+
+import java.util.Stack;
+//*************************************************************************************************
+// Begin CompilationContext Class
+//	This class holds all of the front-end state for a single compilation: the symbol table, the
+//	quads, and the stacks used while parsing. Each Parser owns its own context, so several
+//	programs can be compiled at the same time within one JVM.
+//
+//*************************************************************************************************
+public class CompilationContext {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type							Description
+	// ---------		----------------------------	-------------------------------------------
+	// symbolTable		SymbolTable						The symbol table (described in its
+	//													respective class)
+	// quadList			QuadBuffer						The list of generated quads
+	// argumentStack	Stack<Integer>					The stack upon which the operands (handles)
+	//													representing an evaluated expression are
+	//													pushed and popped to be used as arguments
+	//													for quads
+	// whileStack		Stack<Parser.WhileItem>			The stack that keeps track of the nesting
+	//													of labeled while loops
+	// currentTempNum	int								The current temporary variable number
+	// quadsGenerated	int								The number of quads the parser generated,
+	//													before any were optimized away
+	//
+	//*********************************************************************************************
+	private SymbolTable symbolTable = new SymbolTable();
+	private QuadBuffer quadList = new QuadBuffer();
+	private Stack<Integer> argumentStack = new Stack<Integer>();
+	private Stack<Parser.WhileItem> whileStack = new Stack<Parser.WhileItem>();
+	private int currentTempNum = 0;
+	private int quadsGenerated = 0;
+
+
+	//*********************************************************************************************
+	// Begin New Temp Method
+	//		Returns the name of a new temporary variable and increments the counter.
+	//		Temporary variables are of the format "$X"
+	//
+	//*********************************************************************************************
+	public String newTemp(){
+		return "$" + currentTempNum++;
+	}
+	//*********************************************************************************************
+	// End New Temp Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get/Set Methods
+	//*********************************************************************************************
+	public SymbolTable getSymbolTable(){
+		return symbolTable;
+	}
+
+	public QuadBuffer getQuadList(){
+		return quadList;
+	}
+
+	public Stack<Integer> getArgumentStack(){
+		return argumentStack;
+	}
+
+	public Stack<Parser.WhileItem> getWhileStack(){
+		return whileStack;
+	}
+
+	public int getQuadsGenerated(){
+		return quadsGenerated;
+	}
+
+	public void setQuadsGenerated(int quadsGenerated){
+		this.quadsGenerated = quadsGenerated;
+	}
+	//*********************************************************************************************
+	// End Get/Set Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End CompilationContext Class
+//*************************************************************************************************
@@ -0,0 +1,389 @@
+
+
+import java.util.BitSet;
+import java.util.List;
+//*************************************************************************************************
+// Begin ConstantFolder Class
+//	This class folds constant expressions in the quads and propagates constant values through
+//	assignments, between the parser and the code generator.
+//
+//	Which variables hold a known constant on entry to each basic block is found with the usual
+//	forward dataflow analysis: a variable is known at the start of a block if it holds the same
+//	constant at the end of every predecessor that has been reached, and nothing is known at the
+//	start of the program. Temporaries are only used within a block, so they are tracked as each
+//	block is scanned. Once the analysis settles, each block is scanned one last time and its
+//	quads are rewritten:
+//
+//		- a variable or temporary operand with a known value is replaced by the constant
+//		- an operation on constants becomes an assignment of its value (x := 3 + 4 becomes
+//		  x := 7), computed the way the 68K would (modulo 2^32)
+//		- a conditional jump on a constant becomes a jump (0) or a NOP (anything else)
+//
+//	Division by a constant 0 is left for the program to do. Constants made by folding are added
+//	to the symbol table by their value, with a leading '-' if they are negative.
+//
+//*************************************************************************************************
+public class ConstantFolder {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// quads			QuadBuffer		The quads to fold
+	// symbolTable		SymbolTable		The symbol table
+	// variableNumbers	int[]			The variable number of each symbol table slot, or -1
+	// variableCount	int				The number of variables
+	// entryKnown		BitSet[]		The variables known on entry to each block (null until
+	//									the block is reached)
+	// entryValues		int[][]			Their values
+	// known			BitSet			The variables known at the current quad
+	// values			int[]			Their values
+	// tempKnown		BitSet			The temporaries known at the current quad (by slot)
+	// tempValues		int[]			Their values
+	// folded			int				How many quads were folded or rewritten
+	//
+	//*********************************************************************************************
+	private QuadBuffer quads;
+	private SymbolTable symbolTable;
+	private int[] variableNumbers;
+	private int variableCount;
+	private BitSet[] entryKnown;
+	private int[][] entryValues;
+	private BitSet known;
+	private int[] values;
+	private BitSet tempKnown;
+	private int[] tempValues;
+	private int folded = 0;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables
+	//
+	//*********************************************************************************************
+	public ConstantFolder(QuadBuffer quads, SymbolTable symbolTable){
+		this.quads = quads;
+		this.symbolTable = symbolTable;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Run Method
+	//		Runs the analysis, then rewrites the quads. Returns the number of quads changed.
+	//
+	// Variables		Type				Description
+	// ---------		----------------	-------------------------------------------
+	// cfg				ControlFlowGraph	The basic blocks of the quads
+	// order			List<BasicBlock>	The reachable blocks, each before its successors
+	//										(other than along back edges)
+	// changed			boolean				Did an entry state change on this pass?
+	//
+	//*********************************************************************************************
+	public int run(){
+		ControlFlowGraph cfg = new ControlFlowGraph(quads);
+		List<BasicBlock> order = cfg.getReversePostorder();
+		boolean changed;
+
+		if(order.isEmpty())
+			return 0;
+
+		numberVariables();
+		known = new BitSet(variableCount);
+		values = new int[variableCount];
+		tempKnown = new BitSet();
+		tempValues = new int[symbolTable.size()];
+		entryKnown = new BitSet[cfg.getBlocks().size()];
+		entryValues = new int[cfg.getBlocks().size()][];
+
+		//Nothing is known at the start of the program
+		entryKnown[0] = new BitSet(variableCount);
+		entryValues[0] = new int[variableCount];
+
+		do{
+			changed = false;
+			for(BasicBlock block : order){
+				if(entryKnown[block.getIndex()] == null)
+					continue;
+				scan(block, false);
+				for(BasicBlock successor : block.getSuccessors())
+					changed |= meet(successor);
+			}
+		}while(changed);
+
+		for(BasicBlock block : order)
+			scan(block, true);
+		return folded;
+	}
+	//*********************************************************************************************
+	// End Run Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Number Variables Method
+	//		Gives each variable in the symbol table a number, counting from 0
+	//
+	//*********************************************************************************************
+	private void numberVariables(){
+		variableNumbers = new int[symbolTable.size()];
+		variableCount = 0;
+		for(SymbolTableEntry entry : symbolTable){
+			if(entry.getKind() == Operand.VARIABLE)
+				variableNumbers[entry.getSlot()] = variableCount++;
+			else
+				variableNumbers[entry.getSlot()] = -1;
+		}
+	}
+	//*********************************************************************************************
+	// End Number Variables Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Meet Method
+	//		Merges the state at the end of the current block into the entry state of a
+	//		successor: a variable stays known only if both agree on its value. Returns true if
+	//		the successor's entry state changed.
+	//
+	//*********************************************************************************************
+	private boolean meet(BasicBlock successor){
+		int b = successor.getIndex();
+		boolean changed = false;
+
+		if(entryKnown[b] == null){
+			entryKnown[b] = (BitSet) known.clone();
+			entryValues[b] = values.clone();
+			return true;
+		}
+
+		for(int v = entryKnown[b].nextSetBit(0); v != -1; v = entryKnown[b].nextSetBit(v + 1)){
+			if(!known.get(v) || values[v] != entryValues[b][v]){
+				entryKnown[b].clear(v);
+				changed = true;
+			}
+		}
+		return changed;
+	}
+	//*********************************************************************************************
+	// End Meet Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Scan Method
+	//		Steps through the quads of a block from its entry state, leaving the state at its
+	//		end in known/values. If rewrite is set, the quads are rewritten as they go.
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// op				QuadOp			The operation of the current quad
+	// arg1, arg2		int				Its operands
+	// result			int				Its result
+	// allKnown			boolean			Are all of the operands it reads known?
+	// changed			boolean			Has the quad been rewritten? (Each quad is counted once,
+	//									however many of its operands were replaced.)
+	//
+	//*********************************************************************************************
+	private void scan(BasicBlock block, boolean rewrite){
+		QuadOp op;
+		int arg1, arg2, result;
+		boolean allKnown;
+		boolean changed;
+		int value = 0;
+
+		known.clear();
+		known.or(entryKnown[block.getIndex()]);
+		System.arraycopy(entryValues[block.getIndex()], 0, values, 0, variableCount);
+		tempKnown.clear();
+
+		for(int q = block.getStart(); q <= block.getEnd(); q++){
+			op = quads.getOperation(q);
+			arg1 = quads.getArg1(q);
+			arg2 = quads.getArg2(q);
+			result = quads.getResult(q);
+			changed = false;
+
+			//Replace the operands that have known values by constants
+			if(rewrite && op != QuadOp.PUT_STRING){
+				if(isKnown(arg1) && !Operand.isConstant(arg1))
+					changed |= replaceArg1(q, arg1 = constant(valueOf(arg1)));
+				if(isKnown(arg2) && !Operand.isConstant(arg2))
+					changed |= replaceArg2(q, arg2 = constant(valueOf(arg2)));
+			}
+
+			allKnown = (op.getArity() < 1 || isKnown(arg1)) && (op.getArity() < 2 || isKnown(arg2));
+
+			switch(op){
+				case ADD: case SUB: case MUL: case DIV: case AND: case OR:
+				case LT: case LE: case EQ: case NE: case GT: case GE:
+				case NEG: case NOT: case SQRT: case ABS:
+				case ASSIGN: case POS:
+					if(allKnown && !(op == QuadOp.DIV && valueOf(arg2) == 0)){
+						value = fold(op, valueOf(arg1), op.getArity() < 2 ? 0 : valueOf(arg2));
+						setKnown(result, value);
+						if(rewrite && op != QuadOp.ASSIGN){
+							quads.setOperation(q, QuadOp.ASSIGN);
+							quads.setArg1(q, constant(value));
+							quads.setArg2(q, Operand.NONE);
+							changed = true;
+						}
+					}else{
+						setUnknown(result);
+					}
+					break;
+
+				case GET:
+					setUnknown(result);
+					break;
+
+				case JEQZ:
+					if(rewrite && allKnown){
+						quads.setOperation(q, valueOf(arg1) == 0 ? QuadOp.JUMP : QuadOp.NOP);
+						quads.setArg1(q, Operand.NONE);
+						if(valueOf(arg1) != 0)
+							quads.setResult(q, Operand.NONE);
+						changed = true;
+					}
+					break;
+
+				default:
+					break;
+			}
+
+			if(changed)
+				folded++;
+		}
+	}
+	//*********************************************************************************************
+	// End Scan Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Fold Method
+	//		Computes an operation on constants, as the generated code would
+	//
+	//*********************************************************************************************
+	static int fold(QuadOp op, int a, int b){
+		int root;
+		switch(op){
+			case ADD:	return a + b;
+			case SUB:	return a - b;
+			case MUL:	return a * b;
+			case DIV:	return a / b;
+			case AND:	return a & b;
+			case OR:	return a | b;
+			case LT:	return a < b ? 1 : 0;
+			case LE:	return a <= b ? 1 : 0;
+			case EQ:	return a == b ? 1 : 0;
+			case NE:	return a != b ? 1 : 0;
+			case GT:	return a > b ? 1 : 0;
+			case GE:	return a >= b ? 1 : 0;
+			case NEG:	return -a;
+			case NOT:	return ~a;
+			case ABS:	return Math.abs(a);
+			case SQRT:
+				if(a <= 0)
+					return 0;
+				root = (int) Math.sqrt(a);
+				while((long) root * root > a)
+					root--;
+				while((long) (root + 1) * (root + 1) <= a)
+					root++;
+				return root;
+			default:	return a;
+		}
+	}
+	//*********************************************************************************************
+	// End Fold Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Value Methods
+	//		Is an operand's value known at the current quad, and what is it? Constants are
+	//		always known.
+	//
+	//*********************************************************************************************
+	private boolean isKnown(int operand){
+		if(Operand.isConstant(operand))
+			return true;
+		if(Operand.isVariable(operand))
+			return known.get(variableNumbers[Operand.slot(operand)]);
+		if(Operand.isTemporary(operand))
+			return tempKnown.get(Operand.slot(operand));
+		return false;
+	}
+
+	private int valueOf(int operand){
+		if(Operand.isConstant(operand))
+			return symbolTable.getValue(operand);
+		if(Operand.isVariable(operand))
+			return values[variableNumbers[Operand.slot(operand)]];
+		return tempValues[Operand.slot(operand)];
+	}
+
+	private void setKnown(int operand, int value){
+		if(Operand.isVariable(operand)){
+			known.set(variableNumbers[Operand.slot(operand)]);
+			values[variableNumbers[Operand.slot(operand)]] = value;
+		}else if(Operand.isTemporary(operand)){
+			tempKnown.set(Operand.slot(operand));
+			tempValues[Operand.slot(operand)] = value;
+		}
+	}
+
+	private void setUnknown(int operand){
+		if(Operand.isVariable(operand))
+			known.clear(variableNumbers[Operand.slot(operand)]);
+		else if(Operand.isTemporary(operand))
+			tempKnown.clear(Operand.slot(operand));
+	}
+	//*********************************************************************************************
+	// End Value Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Constant Method
+	//		Returns the constant with the given value, adding it to the symbol table if needed
+	//
+	//*********************************************************************************************
+	private int constant(int value){
+		return symbolTable.add(Integer.toString(value), Operand.CONSTANT);
+	}
+	//*********************************************************************************************
+	// End Constant Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Replace Methods
+	//		Replace an operand of a quad, returning true if it changed
+	//
+	//*********************************************************************************************
+	private boolean replaceArg1(int q, int operand){
+		if(quads.getArg1(q) == operand)
+			return false;
+		quads.setArg1(q, operand);
+		return true;
+	}
+
+	private boolean replaceArg2(int q, int operand){
+		if(quads.getArg2(q) == operand)
+			return false;
+		quads.setArg2(q, operand);
+		return true;
+	}
+	//*********************************************************************************************
+	// End Replace Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End ConstantFolder Class
+//*************************************************************************************************
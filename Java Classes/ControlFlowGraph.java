@@ -0,0 +1,232 @@
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+//*************************************************************************************************
+// Begin ControlFlowGraph Class
+//	This class divides the quads of a program into basic blocks and links each block to the
+//	blocks control can pass to and from. It is built once, before code generation, and the
+//	analyses and the code generator all work from it.
+//
+//	A quad starts a block (is a leader) if it is the first quad, the target of a jump, or the quad
+//	after a jump. The last quad (END) also gets a block of its own, so that everything is in
+//	memory before the machine halts. The leaders are marked in the quad buffer as well.
+//
+//	A jump to the end of the program (past the last quad) gives its block no successor for that
+//	edge.
+//
+//*************************************************************************************************
+public class ControlFlowGraph {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type					Description
+	// ---------		--------------------	-------------------------------------------
+	// blocks			ArrayList<BasicBlock>	The blocks, in quad order
+	// starts			int[]					The first quad of each block, for finding the
+	//											block a quad is in
+	// reversePostorder	List<BasicBlock>		The blocks reachable from the entry, each one
+	//											before its successors (other than along back
+	//											edges)
+	//
+	//*********************************************************************************************
+	private ArrayList<BasicBlock> blocks = new ArrayList<BasicBlock>();
+	private int[] starts;
+	private List<BasicBlock> reversePostorder;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Builds the graph for the given quads
+	//
+	//*********************************************************************************************
+	public ControlFlowGraph(QuadBuffer quads){
+		findBlocks(quads);
+		linkBlocks(quads);
+		orderBlocks();
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Find Blocks Method
+	//		Marks the leaders in one pass over the quads, then makes a block from each leader
+	//		up to the quad before the next one
+	//
+	//*********************************************************************************************
+	private void findBlocks(QuadBuffer quads){
+		int len = quads.size();
+		BitSet leaders = new BitSet(len);
+		int target;
+		int next;
+
+		if(len == 0){
+			starts = new int[0];
+			return;
+		}
+
+		leaders.set(0);
+		leaders.set(len - 1);
+		for(int i = 0; i < len; i++){
+			if(!quads.getOperation(i).isBranch())
+				continue;
+
+			target = quads.getResult(i);
+			if(target < len)
+				leaders.set(target);
+			if(i + 1 < len)
+				leaders.set(i + 1);
+		}
+
+		starts = new int[leaders.cardinality()];
+		for(int start = leaders.nextSetBit(0); start != -1; start = next){
+			next = leaders.nextSetBit(start + 1);
+			starts[blocks.size()] = start;
+			blocks.add(new BasicBlock(blocks.size(), start, next == -1 ? len - 1 : next - 1));
+			quads.setLeader(start, true);
+		}
+	}
+	//*********************************************************************************************
+	// End Find Blocks Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Link Blocks Method
+	//		Fills in the successors of each block from its last quad, then the predecessors
+	//		from the successors
+	//
+	// Variables		Type			Description
+	// ---------		-----------		-------------------------------------------
+	// op				QuadOp			The operation of the block's last quad
+	// taken			BasicBlock		The target of a jump (null for none, or the end)
+	// fallThrough		BasicBlock		The block after this one, if control can reach it
+	// predecessorCount	int[]			The number of predecessors of each block
+	//
+	//*********************************************************************************************
+	private void linkBlocks(QuadBuffer quads){
+		int[] predecessorCount = new int[blocks.size()];
+		QuadOp op;
+		BasicBlock taken;
+		BasicBlock fallThrough;
+		int target;
+
+		for(BasicBlock block : blocks){
+			op = quads.getOperation(block.getEnd());
+			taken = null;
+			fallThrough = null;
+
+			if(op.isBranch()){
+				target = quads.getResult(block.getEnd());
+				if(target < quads.size())
+					taken = getBlockOf(target);
+			}
+			if(op != QuadOp.JUMP && block.getIndex() + 1 < blocks.size())
+				fallThrough = blocks.get(block.getIndex() + 1);
+			if(taken == fallThrough)
+				taken = null;
+
+			if(taken != null && fallThrough != null)
+				block.successors = new BasicBlock[]{ taken, fallThrough };
+			else if(taken != null)
+				block.successors = new BasicBlock[]{ taken };
+			else if(fallThrough != null)
+				block.successors = new BasicBlock[]{ fallThrough };
+			else
+				block.successors = new BasicBlock[0];
+
+			for(BasicBlock successor : block.successors)
+				predecessorCount[successor.getIndex()]++;
+		}
+
+		for(BasicBlock block : blocks){
+			block.predecessors = new BasicBlock[predecessorCount[block.getIndex()]];
+			predecessorCount[block.getIndex()] = 0;
+		}
+		for(BasicBlock block : blocks)
+			for(BasicBlock successor : block.successors)
+				successor.predecessors[predecessorCount[successor.getIndex()]++] = block;
+	}
+	//*********************************************************************************************
+	// End Link Blocks Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Order Blocks Method
+	//		Finds the reverse postorder of the blocks reachable from the entry, with a depth
+	//		first search that keeps its own stack (programs can be deeper than the call stack)
+	//
+	// Variables		Type			Description
+	// ---------		-----------		-------------------------------------------
+	// stack			BasicBlock[]	The path of the search from the entry
+	// nextSuccessor	int[]			The next successor of each block to search
+	// visited			boolean[]		Has the search reached the block?
+	//
+	//*********************************************************************************************
+	private void orderBlocks(){
+		ArrayList<BasicBlock> postorder = new ArrayList<BasicBlock>(blocks.size());
+		BasicBlock[] stack = new BasicBlock[blocks.size()];
+		int[] nextSuccessor = new int[blocks.size()];
+		boolean[] visited = new boolean[blocks.size()];
+		int top = 0;
+		BasicBlock block;
+		BasicBlock successor;
+
+		if(!blocks.isEmpty()){
+			stack[top++] = blocks.get(0);
+			visited[0] = true;
+		}
+
+		while(top > 0){
+			block = stack[top - 1];
+			if(nextSuccessor[block.getIndex()] < block.successors.length){
+				successor = block.successors[nextSuccessor[block.getIndex()]++];
+				if(!visited[successor.getIndex()]){
+					visited[successor.getIndex()] = true;
+					stack[top++] = successor;
+				}
+			}else{
+				postorder.add(block);
+				top--;
+			}
+		}
+
+		Collections.reverse(postorder);
+		reversePostorder = Collections.unmodifiableList(postorder);
+	}
+	//*********************************************************************************************
+	// End Order Blocks Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Methods
+	//*********************************************************************************************
+	public List<BasicBlock> getBlocks(){
+		return Collections.unmodifiableList(blocks);
+	}
+
+	public List<BasicBlock> getReversePostorder(){
+		return reversePostorder;
+	}
+
+	//Returns the block containing the given quad
+	public BasicBlock getBlockOf(int quad){
+		int i = Arrays.binarySearch(starts, quad);
+		return blocks.get(i >= 0 ? i : -i - 2);
+	}
+	//*********************************************************************************************
+	// End Get Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End ControlFlowGraph Class
+//*************************************************************************************************
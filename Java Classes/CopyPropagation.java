@@ -0,0 +1,253 @@
+
+
+import java.util.ArrayList;
+//*************************************************************************************************
+// Begin CopyPropagation Class
+//	This class removes the copies the parser makes for assignments. Every assignment X := expr
+//	computes the expression into a temporary and then copies it to X, so where it is safe the
+//	expression's last quad is made to compute straight into X and the copy is removed:
+//
+//		$1 := A + B							X := A + B
+//		X := $1				becomes			nop
+//
+//	This is only done when the temporary is used by the copy alone and X is neither read nor
+//	assigned between the two quads (both are always in the same block, since a temporary is
+//	only used in the statement that computed it).
+//
+//	The copies that are left (X := Y) are then propagated within each block: until X or Y is
+//	assigned again, a later read of X reads Y instead, which often leaves the copy itself dead
+//	for DeadCodeEliminator to remove. Removed quads become NOPs, so jump targets keep their
+//	numbers.
+//
+//*************************************************************************************************
+public class CopyPropagation {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type				Description
+	// ---------		----------------	-------------------------------------------
+	// quads			QuadBuffer			The quads to rewrite
+	// symbolTable		SymbolTable			The symbol table
+	// uses				int[]				How many times each temporary is read (by slot)
+	// definitions		int[]				The quad that assigns each temporary (by slot)
+	// lastMentions		int[]				The last quad of the current block to read or assign
+	//										each slot
+	// copies			int[]				The operand each slot is a copy of, in the current
+	//										block
+	// stamps			int[]				The block in which each slot's last mention and copy
+	//										were set; anything set in another block is out of date
+	// active			ArrayList<Integer>	The operands that are copies in the current block
+	// block			int					The current block (counting from 1)
+	// changed			int					How many quads have been changed or removed
+	//
+	//*********************************************************************************************
+	private QuadBuffer quads;
+	private SymbolTable symbolTable;
+	private int[] uses;
+	private int[] definitions;
+	private int[] lastMentions;
+	private int[] copies;
+	private int[] stamps;
+	private ArrayList<Integer> active = new ArrayList<Integer>();
+	private int block = 0;
+	private int changed = 0;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables
+	//
+	//*********************************************************************************************
+	public CopyPropagation(QuadBuffer quads, SymbolTable symbolTable){
+		this.quads = quads;
+		this.symbolTable = symbolTable;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Run Method
+	//		Counts the uses of the temporaries, then renames and propagates within each basic
+	//		block in turn. Returns the number of quads changed or removed.
+	//
+	//*********************************************************************************************
+	public int run(){
+		ControlFlowGraph cfg = new ControlFlowGraph(quads);
+
+		uses = new int[symbolTable.size()];
+		definitions = new int[symbolTable.size()];
+		lastMentions = new int[symbolTable.size()];
+		copies = new int[symbolTable.size()];
+		stamps = new int[symbolTable.size()];
+
+		for(int q = 0; q < quads.size(); q++){
+			countUse(quads.getArg1(q));
+			countUse(quads.getArg2(q));
+		}
+
+		for(BasicBlock basicBlock : cfg.getBlocks()){
+			block++;
+			for(int q = basicBlock.getStart(); q <= basicBlock.getEnd(); q++)
+				rename(q);
+
+			block++;
+			active.clear();
+			for(int q = basicBlock.getStart(); q <= basicBlock.getEnd(); q++)
+				propagate(q);
+		}
+		return changed;
+	}
+	//*********************************************************************************************
+	// End Run Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Rename Method
+	//		Makes the quad that computed a temporary compute straight into the variable the
+	//		quad copies it to, if it is safe to, and removes the copy
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// temporary		int				The temporary copied
+	// target			int				The operand it is copied to
+	// definition		int				The quad that computed the temporary
+	//
+	//*********************************************************************************************
+	private void rename(int q){
+		QuadOp op = quads.getOperation(q);
+		int temporary = quads.getArg1(q);
+		int target = quads.getResult(q);
+		int definition;
+
+		if(op == QuadOp.ASSIGN && Operand.isTemporary(temporary) && uses[Operand.slot(temporary)] == 1
+				&& stamps[Operand.slot(temporary)] == block){
+			definition = definitions[Operand.slot(temporary)];
+			if(quads.getResult(definition) == temporary && lastMention(target) <= definition){
+				quads.setResult(definition, target);
+				removeQuad(q);
+				mention(target, q);
+				changed++;
+				return;
+			}
+		}
+
+		mention(quads.getArg1(q), q);
+		mention(quads.getArg2(q), q);
+		if(!op.isBranch() && quads.getResult(q) != Operand.NONE){
+			mention(quads.getResult(q), q);
+			if(Operand.isTemporary(target) && (op.isPure() || op == QuadOp.GET))
+				definitions[Operand.slot(target)] = q;
+		}
+	}
+	//*********************************************************************************************
+	// End Rename Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Propagate Method
+	//		Points the operands of the quad that are copies at what they are copies of, then
+	//		records the copy the quad makes, if it is one, after forgetting the copies its
+	//		result breaks
+	//
+	//*********************************************************************************************
+	private void propagate(int q){
+		QuadOp op = quads.getOperation(q);
+		int arg1 = quads.getArg1(q);
+		int arg2 = quads.getArg2(q);
+		int result = quads.getResult(q);
+		int source;
+
+		if(op == QuadOp.NOP || op == QuadOp.PUT_STRING)
+			return;
+
+		if((source = copyOf(arg1)) != Operand.NONE){
+			quads.setArg1(q, arg1 = source);
+			changed++;
+		}
+		if((source = copyOf(arg2)) != Operand.NONE){
+			quads.setArg2(q, source);
+			changed++;
+		}
+
+		if(op.isBranch() || result == Operand.NONE)
+			return;
+
+		//The result no longer holds a copy, and no longer has copies
+		for(int i = active.size() - 1; i >= 0; i--){
+			if(active.get(i) == result || copies[Operand.slot(active.get(i))] == result){
+				copies[Operand.slot(active.get(i))] = Operand.NONE;
+				active.remove(i);
+			}
+		}
+
+		if(op == QuadOp.ASSIGN && arg1 != result && (Operand.isVariable(arg1) || Operand.isTemporary(arg1))){
+			stamps[Operand.slot(result)] = block;
+			copies[Operand.slot(result)] = arg1;
+			active.add(result);
+		}
+	}
+	//*********************************************************************************************
+	// End Propagate Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Slot Methods
+	//		Count the uses of a temporary, and record and look up the last mention and the copy
+	//		of an operand in the current block
+	//
+	//*********************************************************************************************
+	private void countUse(int operand){
+		if(Operand.isTemporary(operand))
+			uses[Operand.slot(operand)]++;
+	}
+
+	private void mention(int operand, int q){
+		if(operand == Operand.NONE)
+			return;
+		stamps[Operand.slot(operand)] = block;
+		lastMentions[Operand.slot(operand)] = q;
+	}
+
+	//Returns the last quad of the block to mention the operand, or -1
+	private int lastMention(int operand){
+		if(stamps[Operand.slot(operand)] != block)
+			return -1;
+		return lastMentions[Operand.slot(operand)];
+	}
+
+	//Returns the operand the given one is a copy of, or Operand.NONE
+	private int copyOf(int operand){
+		if(operand == Operand.NONE || stamps[Operand.slot(operand)] != block)
+			return Operand.NONE;
+		return copies[Operand.slot(operand)];
+	}
+	//*********************************************************************************************
+	// End Slot Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Remove Quad Method
+	//		Turns a quad into a NOP
+	//
+	//*********************************************************************************************
+	private void removeQuad(int q){
+		quads.setOperation(q, QuadOp.NOP);
+		quads.setArg1(q, Operand.NONE);
+		quads.setArg2(q, Operand.NONE);
+		quads.setResult(q, Operand.NONE);
+	}
+	//*********************************************************************************************
+	// End Remove Quad Method
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End CopyPropagation Class
+//*************************************************************************************************
@@ -0,0 +1,137 @@
+
+
+import java.util.BitSet;
+//*************************************************************************************************
+// Begin DeadCodeEliminator Class
+//	This class removes the quads whose results are never used. Which variables are live at the
+//	end of each basic block comes from LiveVariables, over the whole program; each block is then
+//	scanned backwards, tracking which variables and temporaries are live after each quad (as
+//	the code generator's doLiveVarAnalysis does for next uses). A quad that only computes its
+//	result, and whose result is dead after it, becomes a NOP.
+//
+//	Removing a quad can leave the quads that computed its operands dead as well, in the same
+//	block or in an earlier one, so the passes are repeated until one removes nothing. GET is
+//	never removed, since it reads the input even if the value read is not used. A division
+//	whose result is unused is removed even if it would divide by zero.
+//
+//*************************************************************************************************
+public class DeadCodeEliminator {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// quads			QuadBuffer		The quads to remove dead code from
+	// symbolTable		SymbolTable		The symbol table
+	// variables		int[]			The variables in the symbol table
+	// live				BitSet			The slots live after the current quad
+	// removed			int				How many quads have been removed
+	//
+	//*********************************************************************************************
+	private QuadBuffer quads;
+	private SymbolTable symbolTable;
+	private int[] variables;
+	private BitSet live = new BitSet();
+	private int removed = 0;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables
+	//
+	//*********************************************************************************************
+	public DeadCodeEliminator(QuadBuffer quads, SymbolTable symbolTable){
+		this.quads = quads;
+		this.symbolTable = symbolTable;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Run Method
+	//		Finds the variables, then repeats the passes until nothing more is removed. Returns
+	//		the number of quads removed.
+	//
+	//*********************************************************************************************
+	public int run(){
+		int count = 0;
+		for(SymbolTableEntry entry : symbolTable)
+			if(entry.getKind() == Operand.VARIABLE)
+				count++;
+		variables = new int[count];
+		count = 0;
+		for(SymbolTableEntry entry : symbolTable)
+			if(entry.getKind() == Operand.VARIABLE)
+				variables[count++] = entry.getOperand();
+
+		while(pass() > 0)
+			;
+		return removed;
+	}
+	//*********************************************************************************************
+	// End Run Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Pass Method
+	//		Finds the live variables, then scans each block backwards from the variables live
+	//		on exit from it, removing the quads with dead results. Returns the number removed.
+	//
+	// Variables		Type				Description
+	// ---------		----------------	-------------------------------------------
+	// cfg				ControlFlowGraph	The basic blocks of the quads
+	// liveVariables	LiveVariables		The variables live on exit from each block
+	// count			int					How many quads this pass removed
+	//
+	//*********************************************************************************************
+	private int pass(){
+		ControlFlowGraph cfg = new ControlFlowGraph(quads);
+		LiveVariables liveVariables = new LiveVariables(cfg, quads, symbolTable);
+		QuadOp op;
+		int result;
+		int count = 0;
+
+		for(BasicBlock block : cfg.getBlocks()){
+			live.clear();
+			for(int variable : variables)
+				if(liveVariables.isLiveOut(block, variable))
+					live.set(Operand.slot(variable));
+
+			for(int q = block.getEnd(); q >= block.getStart(); q--){
+				op = quads.getOperation(q);
+				result = quads.getResult(q);
+
+				if(op.isPure() && !live.get(Operand.slot(result))){
+					quads.setOperation(q, QuadOp.NOP);
+					quads.setArg1(q, Operand.NONE);
+					quads.setArg2(q, Operand.NONE);
+					quads.setResult(q, Operand.NONE);
+					count++;
+					continue;
+				}
+
+				//The result is dead before the quad, and the operands are live
+				if(!op.isBranch() && result != Operand.NONE)
+					live.clear(Operand.slot(result));
+				if(quads.getArg1(q) != Operand.NONE)
+					live.set(Operand.slot(quads.getArg1(q)));
+				if(quads.getArg2(q) != Operand.NONE)
+					live.set(Operand.slot(quads.getArg2(q)));
+			}
+		}
+
+		removed += count;
+		return count;
+	}
+	//*********************************************************************************************
+	// End Pass Method
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End DeadCodeEliminator Class
+//*************************************************************************************************
@@ -0,0 +1,208 @@
+
+
+//*************************************************************************************************
+// Begin EffectiveAddress Class
+//	This class represents an operand of a 68K instruction or directive:
+//
+//		DATA_REGISTER		Dn
+//		ADDRESS_REGISTER	An
+//		ABSOLUTE			A memory location, either by name (a variable's label) or by
+//							number (an ORG address)
+//		IMMEDIATE			#n
+//		LABEL				The address of another instruction in the same section, given by
+//							its index. The address is only known after layout, so it is looked
+//							up when the operand is rendered.
+//		TEXT				The characters of a DC.B string
+//
+//	Effective addresses are immutable. The registers are shared instances.
+//
+//*************************************************************************************************
+public class EffectiveAddress {
+
+	//*********************************************************************************************
+	// Begin Kind Enumeration
+	//*********************************************************************************************
+	public enum Kind{
+		DATA_REGISTER,
+		ADDRESS_REGISTER,
+		ABSOLUTE,
+		IMMEDIATE,
+		LABEL,
+		TEXT
+	}
+	//*********************************************************************************************
+	// End Kind Enumeration
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type				Description
+	// ---------		----------------	-------------------------------------------
+	// DATA_REGISTERS	EffectiveAddress[]	D0 - D7
+	// ADDRESS_REGS		EffectiveAddress[]	A0 - A7
+	// kind				Kind				What kind of operand this is
+	// value			int					The register number, immediate value, numeric
+	//										address, or index of the target instruction
+	// name				String				The label of a named location, or the text of a
+	//										string (null otherwise)
+	//
+	//*********************************************************************************************
+	private static final EffectiveAddress[] DATA_REGISTERS = new EffectiveAddress[8];
+	private static final EffectiveAddress[] ADDRESS_REGS = new EffectiveAddress[8];
+
+	private final Kind kind;
+	private final int value;
+	private final String name;
+
+
+	static{
+		for(int i = 0; i < 8; i++){
+			DATA_REGISTERS[i] = new EffectiveAddress(Kind.DATA_REGISTER, i, null);
+			ADDRESS_REGS[i] = new EffectiveAddress(Kind.ADDRESS_REGISTER, i, null);
+		}
+	}
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables. (Use the factory methods below)
+	//
+	//*********************************************************************************************
+	private EffectiveAddress(Kind kind, int value, String name){
+		this.kind = kind;
+		this.value = value;
+		this.name = name;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Factory Methods
+	//*********************************************************************************************
+	public static EffectiveAddress dataRegister(int register){
+		return DATA_REGISTERS[register];
+	}
+
+	public static EffectiveAddress addressRegister(int register){
+		return ADDRESS_REGS[register];
+	}
+
+	//Registers by number, the way the code generator numbers them: 0 - 7 are D0 - D7 and
+	//8 - 15 are A0 - A7
+	public static EffectiveAddress register(int number){
+		return number < 8 ? DATA_REGISTERS[number] : ADDRESS_REGS[number - 8];
+	}
+
+	public static EffectiveAddress absolute(String label){
+		return new EffectiveAddress(Kind.ABSOLUTE, 0, label);
+	}
+
+	public static EffectiveAddress absolute(int address){
+		return new EffectiveAddress(Kind.ABSOLUTE, address, null);
+	}
+
+	public static EffectiveAddress immediate(int value){
+		return new EffectiveAddress(Kind.IMMEDIATE, value, null);
+	}
+
+	public static EffectiveAddress label(int instructionIndex){
+		return new EffectiveAddress(Kind.LABEL, instructionIndex, null);
+	}
+
+	public static EffectiveAddress text(String text){
+		return new EffectiveAddress(Kind.TEXT, 0, text);
+	}
+	//*********************************************************************************************
+	// End Factory Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Methods
+	//*********************************************************************************************
+	public Kind getKind(){
+		return kind;
+	}
+
+	public int getValue(){
+		return value;
+	}
+
+	public String getName(){
+		return name;
+	}
+
+	public boolean isDataRegister(){
+		return kind == Kind.DATA_REGISTER;
+	}
+
+	public boolean isRegister(){
+		return kind == Kind.DATA_REGISTER || kind == Kind.ADDRESS_REGISTER;
+	}
+
+	//Returns the register's number the way the code generator numbers them (see register)
+	public int getRegisterNumber(){
+		return kind == Kind.ADDRESS_REGISTER ? value + 8 : value;
+	}
+
+	//Does this operand name the same register, location or value as the other?
+	public boolean isSame(EffectiveAddress other){
+		return other != null && kind == other.kind && value == other.value
+				&& (name == null ? other.name == null : name.equals(other.name));
+	}
+	//*********************************************************************************************
+	// End Get Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Extension Length Method
+	//		Returns the number of bytes of extension words this operand adds to an instruction
+	//		of the given size. Named locations and labels are assumed to need absolute long
+	//		addressing, since the data follows the code and is not known when it is assembled.
+	//
+	//*********************************************************************************************
+	public int getExtensionLength(Instruction.Size size){
+		switch(kind){
+			case ABSOLUTE:
+			case LABEL:
+				return 4;
+			case IMMEDIATE:
+				return size == Instruction.Size.L ? 4 : 2;
+			default:
+				return 0;
+		}
+	}
+	//*********************************************************************************************
+	// End Extension Length Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Render Method
+	//		Returns the operand as it is written in the listing. Labels are written as the
+	//		address of the instruction they refer to in the given section.
+	//
+	//*********************************************************************************************
+	public String render(java.util.List<Instruction> section){
+		switch(kind){
+			case DATA_REGISTER:		return "D" + value;
+			case ADDRESS_REGISTER:	return "A" + value;
+			case ABSOLUTE:			return name != null ? name : "$" + Integer.toHexString(value);
+			case IMMEDIATE:			return "#" + value;
+			case LABEL:				return Integer.toHexString(section.get(value).getAddress());
+			default:				return "'" + name + "'";
+		}
+	}
+	//*********************************************************************************************
+	// End Render Method
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End EffectiveAddress Class
+//*************************************************************************************************
@@ -29,7 +29,7 @@ public class ParseException extends Exception {
                         String[] tokenImageVal
                        )
   {
-    super(initialise(currentTokenVal, expectedTokenSequencesVal, tokenImageVal));
+    super(initialise(resolve(currentTokenVal), expectedTokenSequencesVal, tokenImageVal));
     currentToken = currentTokenVal;
     expectedTokenSequences = expectedTokenSequencesVal;
     tokenImage = tokenImageVal;
@@ -83,6 +83,15 @@ public class ParseException extends Exception {
    * from the parser) the correct error message
    * gets displayed.
    */
+  /**
+   * Works out the position of the offending token, which the lexer only
+   * records as an offset.
+   */
+  private static Token resolve(Token currentToken) {
+    currentToken.next.resolvePosition();
+    return currentToken;
+  }
+
   private static String initialise(Token currentToken,
                            int[][] expectedTokenSequences,
                            String[] tokenImage) {
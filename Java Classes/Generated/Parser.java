@@ -1,5 +1,8 @@
 /* Generated By:JavaCC: Do not edit this line. Parser.java */
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumSet;
 import java.util.Stack;
 public class Parser implements ParserConstants {
 
@@ -9,35 +12,57 @@ public class Parser implements ParserConstants {
   //
   // Variables		Type							Description
   // ---------		----------------------------	-----------------------------------------------
-  // symbolTable	ArrayList<SymbolTableEntry>		The symbol table (SymbolTableEntry is described
+  // context		CompilationContext				The state of this compilation (described in
+  //												its respective class)
+  // symbolTable	SymbolTable						The symbol table (SymbolTable is described
   //												in its respective class)
-  // quadList		ArrayList<Quad>					The list of generated quads
-  // argumentStack	Stack<String>					The stack upon which variables representing
-  //												an evaluated expression are pushed and popped
-  //												to be used as arguments for quads
+  // quadList		QuadBuffer						The list of generated quads
+  // argumentStack	Stack<Integer>					The stack upon which the operands (handles)
+  //												representing an evaluated expression are
+  //												pushed and popped to be used as arguments
+  //												for quads
   // whileStack		Stack<WhileItem>				The stack that keeps track of the nesting
   //												of labeled while loops
-  // currentTempNum	int								The current temporary variable number
+  //
+  //	The last four are shortcuts into the context.
   //
   //***********************************************************************************************
-  private static ArrayList<SymbolTableEntry> symbolTable = new ArrayList<SymbolTableEntry >();
-  private static ArrayList<Quad> quadList = new ArrayList<Quad >();
-  private static Stack<String> argumentStack = new Stack<String>();
-  private static Stack<WhileItem> whileStack = new Stack<WhileItem>();
-  private static int currentTempNum = 0;
+  private final CompilationContext context = new CompilationContext();
+  private final SymbolTable symbolTable = context.getSymbolTable();
+  private final QuadBuffer quadList = context.getQuadList();
+  private final Stack<Integer> argumentStack = context.getArgumentStack();
+  private final Stack<WhileItem> whileStack = context.getWhileStack();
 
   //*******************************************************************************************
   // Begin Main Method
-  //	Creates the parser class and the code generator class
+  //	Compiles the program in the file named by the first argument, or on standard in if
+  //	there are no arguments. The listing is written to the file named by the second
+  //	argument, or to standard out if there isn't one. (See BatchCompiler for compiling many
+  //	files at once)
+  //
+  //	A leading -peephole=<rules> chooses the peephole rules, as a comma separated list of
+  //	PeepholeOptimizer.Rule names, "all" (the default) or "none".
   //
   //*******************************************************************************************
-  public static void main (String [] args) throws ParseException
+  public static void main (String [] args) throws ParseException, IOException
   {
-        Parser parser = new Parser(System.in);
-        parser.Program();
+        EnumSet<PeepholeOptimizer.Rule> rules = EnumSet.allOf(PeepholeOptimizer.Rule.class);
+        int first = 0;
+        if(args.length > 0 && args[0].startsWith("-peephole=")){
+                rules = PeepholeOptimizer.parseRules(args[0].substring("-peephole=".length()));
+                first = 1;
+        }
 
-        CodeGenerator codeGenerator = new CodeGenerator(quadList, symbolTable);
-        codeGenerator.genCode();
+        AssemblyWriter out = args.length > first + 1 ? AssemblyWriter.toFile(new File(args[first + 1]))
+                        : AssemblyWriter.toStandardOut();
+        try{
+                if(args.length > first)
+                        compile(new File(args[first]), out, rules);
+                else
+                        compile(System.in, out, rules);
+        }finally{
+                out.close();
+        }
   }
   //*******************************************************************************************
   // End Main Method 
@@ -45,22 +70,90 @@ public class Parser implements ParserConstants {
 
 
   //*******************************************************************************************
-  // Begin Find Symbol Table Entry By Id Method
-  //	Searches the symbol table for an entry matching the passed in identifier.
-  //	Returns either the index into the symbol table, if found, or -1 if not found.
+  // Begin Compile Methods
+  //	Creates the parser class and the code generator class for one program, running the
+  //	Optimizer over the quads in between. The listing, followed by what the Optimizer did,
+  //	is written to the given writer (which is left open) and the finished context is
+  //	returned to the caller.
+  //
+  //	A source file is memory-mapped by the lexer rather than read through a stream. Every
+  //	peephole rule is applied unless the rules to apply are given.
   //
   //*******************************************************************************************
-  private static int findSTEntryById(String id)
+  public static CompilationContext compile(File source, AssemblyWriter out)
+        throws ParseException, IOException
   {
-        int index = 0;
-        for(SymbolTableEntry current : symbolTable)
-        {
-                if(current.getIdentifier().equals(id))
-                        return index;
+        return compile(new Lexer(source), out, EnumSet.allOf(PeepholeOptimizer.Rule.class));
+  }
+
+  public static CompilationContext compile(File source, AssemblyWriter out,
+                EnumSet<PeepholeOptimizer.Rule> peepholeRules) throws ParseException, IOException
+  {
+        return compile(new Lexer(source), out, peepholeRules);
+  }
 
-                index++;
+  public static CompilationContext compile(InputStream in, AssemblyWriter out)
+        throws ParseException, IOException
+  {
+        return compile(new Lexer(in), out, EnumSet.allOf(PeepholeOptimizer.Rule.class));
+  }
+
+  public static CompilationContext compile(InputStream in, AssemblyWriter out,
+                EnumSet<PeepholeOptimizer.Rule> peepholeRules) throws ParseException, IOException
+  {
+        return compile(new Lexer(in), out, peepholeRules);
+  }
+
+  private static CompilationContext compile(Lexer lexer, AssemblyWriter out,
+                EnumSet<PeepholeOptimizer.Rule> peepholeRules) throws ParseException, IOException
+  {
+        Parser parser = new Parser(lexer);
+        parser.Program();
+
+        CompilationContext context = parser.getContext();
+        context.setQuadsGenerated(context.getQuadList().size());
+        Optimizer optimizer = new Optimizer(context.getQuadList(), context.getSymbolTable());
+        optimizer.run();
+        CodeGenerator codeGenerator = new CodeGenerator(context.getQuadList(), context.getSymbolTable());
+        codeGenerator.setPeepholeRules(peepholeRules);
+        codeGenerator.genCode(out);
+
+        //Write out what the optimizer did to the quads, as comments
+        if(!optimizer.report().isEmpty()){
+                out.writeLine("\u005cn;----------------Quad Optimizations----------------");
+                for(String line : optimizer.report())
+                        out.writeLine(";" + line);
         }
-        return -1;
+        return context;
+  }
+  //*******************************************************************************************
+  // End Compile Methods
+  //*******************************************************************************************
+
+
+  //*******************************************************************************************
+  // Begin Get Context Method
+  //	Returns the state (symbol table, quads, etc.) built up by this parser.
+  //
+  //*******************************************************************************************
+  public CompilationContext getContext()
+  {
+        return context;
+  }
+  //*******************************************************************************************
+  // End Get Context Method
+  //*******************************************************************************************
+
+
+  //*******************************************************************************************
+  // Begin Find Symbol Table Entry By Id Method
+  //	Searches the symbol table for an entry matching the passed in identifier.
+  //	Returns either the entry's operand handle, if found, or Operand.NONE if not found.
+  //
+  //*******************************************************************************************
+  private int findSTEntryById(String id)
+  {
+        return symbolTable.find(id);
   }
   //*******************************************************************************************
   // End Find Symbol Table Entry by Id Method
@@ -69,12 +162,13 @@ public class Parser implements ParserConstants {
 
   //*******************************************************************************************
   // Begin Generate Symbol Table Entry Method
-  //	Generates an entry in the symbol table with the passed in identifier.
+  //	Generates an entry of the given kind (see Operand) in the symbol table with the passed
+  //	in identifier, unless it is already there. Returns the entry's operand handle.
   //
   //*******************************************************************************************
-  private static void genSTEntry(String id)
+  private int genSTEntry(String id, int kind)
   {
-        symbolTable.add(new SymbolTableEntry(id, 0, SymbolTableEntry.Location.MEMORY));
+        return symbolTable.add(id, kind);
   }
   //*******************************************************************************************
   // End Generate Symbol Table Entry Method
@@ -84,12 +178,13 @@ public class Parser implements ParserConstants {
   //*******************************************************************************************
   // Begin Generate Quad Method
   //	Generates an quad from the passed in operator, two arguments, and result. The quad
-  //	is added to the quads list.
+  //	is added to the quads list. Unused operands are Operand.NONE; for jumps the result is
+  //	the target quad number.
   //
   //*******************************************************************************************
-  private static void genQuad(String op, String arg1, String arg2, String result)
+  private void genQuad(QuadOp op, int arg1, int arg2, int result)
   {
-        quadList.add(new Quad(op, arg1, arg2, result));
+        quadList.add(op, arg1, arg2, result);
   }
   //*******************************************************************************************
   // End Generate Quad Method
@@ -98,13 +193,13 @@ public class Parser implements ParserConstants {
 
   //*******************************************************************************************
   // Begin New Temp Method
-  //	Returns a new temporary variable (String) and increments the counter.
+  //	Adds a new temporary variable to the symbol table and returns its operand handle.
   //	Temporary variables are of the format "$X"
   //
   //*******************************************************************************************
-  private static String newTemp()
+  private int newTemp()
   {
-        return "$" + currentTempNum++;
+        return genSTEntry(context.newTemp(), Operand.TEMPORARY);
   }
   //*******************************************************************************************
   // End New Temp Method
@@ -113,14 +208,14 @@ public class Parser implements ParserConstants {
 
   //*******************************************************************************************
   // Begin Backpatch Method
-  //	Goes through jump/jeqz quads until a "0" is found in the result field. The quads'
+  //	Goes through jump/jeqz quads until a 0 is found in the result field. The quads'
   //	result fields are set to point to the new quad specified.
   //
   //	start - indicates the quad number where the backpatch operation should begin.
   //	newQuad - indicates the new quad number that should be patched.
   //
   //*******************************************************************************************
-  private static void backpatch(int start, int newQuad)
+  private void backpatch(int start, int newQuad)
   {
         int curr = start;
         boolean done = false;
@@ -130,20 +225,19 @@ public class Parser implements ParserConstants {
                 //Get the next quad
                 currentQuad = quadList.get(curr);
 
-                //If its result is "0," then this is the last quad to patch
-                if(currentQuad.getResultName().equals("0"))
+                //If its result is 0, then this is the last quad to patch
+                if(currentQuad.getResult() == 0)
                         done = true;
                 //If the quad is not a jeqz or jump quad, quit	
-                else if(!(currentQuad.getOperation().equals("jeqz") ||
-                        currentQuad.getOperation().equals("jump")))
+                else if(!currentQuad.getOperation().isBranch())
                         break;
 
                 //Get the next quad number
                 if(!done)
-                        curr = Integer.parseInt(currentQuad.getResultName());
+                        curr = currentQuad.getResult();
 
                 //Replace the old result with the new result	
-                currentQuad.setResultName(""+newQuad);
+                currentQuad.setResult(newQuad);
         }while (!done);
   }
   //*******************************************************************************************
@@ -157,7 +251,7 @@ public class Parser implements ParserConstants {
   //	Returns either true or false.
   //
   //*******************************************************************************************
-  private static boolean whileStackContains(String search)
+  private boolean whileStackContains(String search)
   {
         for(int i = 0; i < whileStack.size(); i++)
         {
@@ -229,25 +323,38 @@ public class Parser implements ParserConstants {
 //	program 	=> 	(statement)*
 //
 //*************************************************************************************************
-  static final public void Program() throws ParseException {
+  final public void Program() throws ParseException {
     label_1:
     while (true) {
-      if (jj_2_1(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case EXIT:
+      case GET:
+      case IF:
+      case LOOP:
+      case PUT:
+      case WHILE:
+      case ID:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[0] = jj_gen;
         break label_1;
       }
       Statement();
     }
-    if (jj_2_2(2)) {
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case 0:
       jj_consume_token(0);
-    } else if (jj_2_3(2)) {
+      break;
+    case QUIT:
       jj_consume_token(QUIT);
-    } else {
+      break;
+    default:
+      jj_la1[1] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
-     genQuad("END", " ", " ", " ");     //Placeholder end-of-quad-list
+     genQuad(QuadOp.END, Operand.NONE, Operand.NONE, Operand.NONE);     //Placeholder end-of-quad-list
 
   }
 
@@ -275,94 +382,145 @@ public class Parser implements ParserConstants {
 //
 //	nextQuad		int				Holds the number of the next quad to be generated
 //
-//	labelId			String			Holds a label for a loop
+//	labelId			String			Holds the label named by an EXIT statement
 //
 //*************************************************************************************************
-  static final public void Statement() throws ParseException {
+  final public void Statement() throws ParseException {
   Token id;
   Stack<Integer> temp = new Stack<Integer>();
   int nextQuad = 0;
   String labelId = "";
-    if (jj_2_13(2)) {
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case ID:
       //-------------------------------------------------------------------------------------
-        // Begin Assignment Statement
+        // Begin Assignment Statement / Labeled Loop Statement
         //	id := expression @1
+        //	id : loop
+        //
+        //	Both statements start with an identifier, so the identifier is matched first and
+        //	the token after it decides which one this is. This keeps every choice in the
+        //	grammar down to one token of lookahead (no speculative scanning).
         //
         //	@1: After an assignment statement is matched, add the new variable to the symbol
         //		if it isn't already in there. Generate the assignment quad.
         //
         //-------------------------------------------------------------------------------------
         id = jj_consume_token(ID);
-      jj_consume_token(ASSN);
-      Expression();
-      jj_consume_token(SEMICOL);
-    //@1
-        if(findSTEntryById(id.image.toUpperCase()) == -1)
-        genSTEntry(id.image.toUpperCase()); //Not in symbol table - add it
-        genQuad(":=", argumentStack.pop(), " ", id.image.toUpperCase());
-    } else if (jj_2_14(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case ASSN:
+        jj_consume_token(ASSN);
+        Expression();
+        jj_consume_token(SEMICOL);
+          //@1
+          int variable = genSTEntry(id.image.toUpperCase(), Operand.VARIABLE); //Added if not there
+          genQuad(QuadOp.ASSIGN, argumentStack.pop(), Operand.NONE, variable);
+        break;
+      case COLON:
+        jj_consume_token(COLON);
+        Loop(id.image.toUpperCase());
+        break;
+      default:
+        jj_la1[2] = jj_gen;
+        jj_consume_token(-1);
+        throw new ParseException();
+      }
+      break;
+    case IF:
       jj_consume_token(IF);
       Expression();
           //@1
           nextQuad = quadList.size();
-          genQuad("jeqz", argumentStack.pop(), " ", "0");
+          genQuad(QuadOp.JEQZ, argumentStack.pop(), Operand.NONE, 0);
           temp.push(nextQuad);
       jj_consume_token(THEN);
       label_2:
       while (true) {
-        if (jj_2_4(2)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case EXIT:
+        case GET:
+        case IF:
+        case LOOP:
+        case PUT:
+        case WHILE:
+        case ID:
           ;
-        } else {
+          break;
+        default:
+          jj_la1[3] = jj_gen;
           break label_2;
         }
         Statement();
       }
       label_3:
       while (true) {
-        if (jj_2_5(2)) {
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case ELSIF:
           ;
-        } else {
+          break;
+        default:
+          jj_la1[4] = jj_gen;
           break label_3;
         }
         jj_consume_token(ELSIF);
           //@2
           nextQuad = quadList.size();
-          genQuad("jump", " ", " ", "0");
-          quadList.get(temp.pop()).setResultName("" + (nextQuad+1));
+          genQuad(QuadOp.JUMP, Operand.NONE, Operand.NONE, 0);
+          quadList.get(temp.pop()).setResult(nextQuad+1);
           temp.push(nextQuad);
         Expression();
           //@3
           nextQuad = quadList.size();
-          genQuad("jeqz", argumentStack.pop(), " ", "0");
+          genQuad(QuadOp.JEQZ, argumentStack.pop(), Operand.NONE, 0);
           temp.push(nextQuad);
         jj_consume_token(THEN);
         label_4:
         while (true) {
-          if (jj_2_6(2)) {
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case EXIT:
+          case GET:
+          case IF:
+          case LOOP:
+          case PUT:
+          case WHILE:
+          case ID:
             ;
-          } else {
+            break;
+          default:
+            jj_la1[5] = jj_gen;
             break label_4;
           }
           Statement();
         }
       }
-      if (jj_2_8(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case ELSE:
         jj_consume_token(ELSE);
           //@4
           nextQuad = quadList.size();
-          genQuad("jump", " ", " ", "0");
-          quadList.get(temp.pop()).setResultName("" + quadList.size());
+          genQuad(QuadOp.JUMP, Operand.NONE, Operand.NONE, 0);
+          quadList.get(temp.pop()).setResult(quadList.size());
           temp.push(nextQuad);
         label_5:
         while (true) {
-          if (jj_2_7(2)) {
+          switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+          case EXIT:
+          case GET:
+          case IF:
+          case LOOP:
+          case PUT:
+          case WHILE:
+          case ID:
             ;
-          } else {
+            break;
+          default:
+            jj_la1[6] = jj_gen;
             break label_5;
           }
           Statement();
         }
-      } else {
+        break;
+      default:
+        jj_la1[7] = jj_gen;
         ;
       }
       jj_consume_token(END);
@@ -370,66 +528,27 @@ public class Parser implements ParserConstants {
       jj_consume_token(SEMICOL);
           //@5
           while(!(temp.isEmpty()))
-                quadList.get(temp.pop()).setResultName("" + quadList.size());
-    } else if (jj_2_15(2)) {
-      if (jj_2_9(2)) {
-        labelId = LabelId();
-        jj_consume_token(COLON);
-      } else {
-        ;
-      }
-                if(labelId.equals(""))
-                {       //@1
-                        whileStack.push(new WhileItem(newTemp(),0));
-                        nextQuad = quadList.size();
-                        temp.push(nextQuad);
-                }
-                else
-                {       //@2
-                        if(whileStackContains(labelId))
-                                {if (true) throw new RuntimeException("Loop " + labelId + " already exists, may create ambiguous EXIT statements");}
-
-                        whileStack.push(new WhileItem(labelId,0));
-                        nextQuad = quadList.size();
-                        temp.push(nextQuad);
-                }
-      if (jj_2_10(2)) {
-        jj_consume_token(WHILE);
-        Expression();
-                //@3
-                whileStack.peek().value = quadList.size();
-                genQuad("jeqz", argumentStack.pop()," ", "0");
-      } else {
-        ;
-      }
-      jj_consume_token(LOOP);
-      label_6:
-      while (true) {
-        if (jj_2_11(2)) {
-          ;
-        } else {
-          break label_6;
-        }
-        Statement();
-      }
-      jj_consume_token(END);
-      jj_consume_token(LOOP);
-      jj_consume_token(SEMICOL);
-                //@4
-                genQuad("jump", " ", " ", ""+temp.pop());
-                backpatch(whileStack.pop().value, quadList.size());
-    } else if (jj_2_16(2)) {
+                quadList.get(temp.pop()).setResult(quadList.size());
+      break;
+    case LOOP:
+    case WHILE:
+      Loop("");
+      break;
+    case EXIT:
       jj_consume_token(EXIT);
-      if (jj_2_12(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case ID:
         labelId = LabelId();
-      } else {
+        break;
+      default:
+        jj_la1[8] = jj_gen;
         ;
       }
       jj_consume_token(SEMICOL);
                 if(labelId.equals(""))
                 {       //@1 - Unlabeled exit
                         nextQuad = quadList.size();
-                        genQuad("jump"," "," ",""+whileStack.peek().value);
+                        genQuad(QuadOp.JUMP, Operand.NONE, Operand.NONE, whileStack.peek().value);
                         whileStack.peek().value = nextQuad;
                 }else
                 {       //@1 - Labeled exit
@@ -444,22 +563,26 @@ public class Parser implements ParserConstants {
                                 }
                         }
 
-                        genQuad("jump"," "," ",""+whileStack.get(loc).value);
+                        genQuad(QuadOp.JUMP, Operand.NONE, Operand.NONE, whileStack.get(loc).value);
                         whileStack.get(loc).value = nextQuad;
                 }
-    } else if (jj_2_17(2)) {
+      break;
+    case GET:
       jj_consume_token(GET);
       jj_consume_token(LPARAN);
       InputList();
       jj_consume_token(RPARAN);
       jj_consume_token(SEMICOL);
-    } else if (jj_2_18(2)) {
+      break;
+    case PUT:
       jj_consume_token(PUT);
       jj_consume_token(LPARAN);
       OutputList();
       jj_consume_token(RPARAN);
       jj_consume_token(SEMICOL);
-    } else {
+      break;
+    default:
+      jj_la1[9] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -470,6 +593,91 @@ public class Parser implements ParserConstants {
 //*************************************************************************************************
 
 
+//*************************************************************************************************
+// Begin Loop Production
+//	loop	=>	@1/2 (WHILE expression @3)?  LOOP (statement)* END LOOP; @4
+//
+//	labelId is the loop's label, or "" if the loop is unlabeled.
+//
+//	@1: If a label has not been specified, generate a new temporary as the
+//		name and push it onto the while stack. Save the location of next
+//		quad on the temp stack (beginning of loop)
+//	@2:	If a unique label has been specified, push it onto the while stack and
+//		save the location of next quad on the temp stack (beginning of loop)
+//	@3:	Set the value of the item on top of the while stack to next quad.
+//		Also generate the conditional jump
+//	@4:	Generate the jump quad to go back to the beginning. Backpatch with
+//		the now-known end of the loop
+//
+//	Variables		Type			Description
+//	---------		--------		-----------
+//	temp			Stack<Integer>	Holds the quad number of the beginning of the loop
+//
+//	nextQuad		int				Holds the number of the next quad to be generated
+//
+//*************************************************************************************************
+  final public void Loop(String labelId) throws ParseException {
+  Stack<Integer> temp = new Stack<Integer>();
+  int nextQuad = 0;
+                if(labelId.equals(""))
+                {       //@1
+                        whileStack.push(new WhileItem(context.newTemp(),0));
+                        nextQuad = quadList.size();
+                        temp.push(nextQuad);
+                }
+                else
+                {       //@2
+                        if(whileStackContains(labelId))
+                                {if (true) throw new RuntimeException("Loop " + labelId + " already exists, may create ambiguous EXIT statements");}
+
+                        whileStack.push(new WhileItem(labelId,0));
+                        nextQuad = quadList.size();
+                        temp.push(nextQuad);
+                }
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case WHILE:
+      jj_consume_token(WHILE);
+      Expression();
+                //@3
+                whileStack.peek().value = quadList.size();
+                genQuad(QuadOp.JEQZ, argumentStack.pop(), Operand.NONE, 0);
+      break;
+    default:
+      jj_la1[10] = jj_gen;
+      ;
+    }
+    jj_consume_token(LOOP);
+    label_6:
+    while (true) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case EXIT:
+      case GET:
+      case IF:
+      case LOOP:
+      case PUT:
+      case WHILE:
+      case ID:
+        ;
+        break;
+      default:
+        jj_la1[11] = jj_gen;
+        break label_6;
+      }
+      Statement();
+    }
+    jj_consume_token(END);
+    jj_consume_token(LOOP);
+    jj_consume_token(SEMICOL);
+                //@4
+                genQuad(QuadOp.JUMP, Operand.NONE, Operand.NONE, temp.pop());
+                backpatch(whileStack.pop().value, quadList.size());
+  }
+
+//*************************************************************************************************
+// End Loop Production
+//*************************************************************************************************
+
+
 //*************************************************************************************************
 // Begin LabelId Production
 //	label-id	=>	id
@@ -478,7 +686,7 @@ public class Parser implements ParserConstants {
 //	case-sensitive)
 //
 //*************************************************************************************************
-  static final public String LabelId() throws ParseException {
+  final public String LabelId() throws ParseException {
     jj_consume_token(ID);
         {if (true) return getToken(0).image.toUpperCase();}
     throw new Error("Missing return statement in function");
@@ -497,26 +705,30 @@ public class Parser implements ParserConstants {
 //	@2: Same as @1
 //
 //*************************************************************************************************
-  static final public void InputList() throws ParseException {
+  final public void InputList() throws ParseException {
   Token token = null;
+  int variable;
     token = jj_consume_token(ID);
     //@1
-        if(findSTEntryById(token.image.toUpperCase()) == -1)
+        if((variable = findSTEntryById(token.image.toUpperCase())) == Operand.NONE)
                 {if (true) throw new RuntimeException("Variable " + token.image + " not declared!");}
-        genQuad("get"," "," ", token.image.toUpperCase());
+        genQuad(QuadOp.GET, Operand.NONE, Operand.NONE, variable);
     label_7:
     while (true) {
-      if (jj_2_19(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case COMMA:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[12] = jj_gen;
         break label_7;
       }
       jj_consume_token(COMMA);
       token = jj_consume_token(ID);
         //@2
-        if(findSTEntryById(token.image.toUpperCase()) == -1)
+        if((variable = findSTEntryById(token.image.toUpperCase())) == Operand.NONE)
                 {if (true) throw new RuntimeException("Variable " + token.image + " not declared!");}
-        genQuad("get"," "," ", token.image.toUpperCase());
+        genQuad(QuadOp.GET, Operand.NONE, Operand.NONE, variable);
     }
   }
 
@@ -537,56 +749,65 @@ public class Parser implements ParserConstants {
 //	@4: Same as @2
 //
 //*************************************************************************************************
-  static final public void OutputList() throws ParseException {
+  final public void OutputList() throws ParseException {
   Token token = null;
-  int index = 0;
-    if (jj_2_20(2)) {
+  int literal;
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case STRING:
       token = jj_consume_token(STRING);
     //@1
-    index = findSTEntryById(token.image);
-        if(index == -1)
-        {
-      genSTEntry(token.image); //Add literal to symbol table
-      genQuad("putString", token.image," ", " ");
-    }
-    else
-    {
-          genQuad("putString", token.image," ", " ");
-    }
-    } else if (jj_2_21(2)) {
+    literal = genSTEntry(token.image, Operand.STRING); //Added if not there
+    genQuad(QuadOp.PUT_STRING, literal, Operand.NONE, Operand.NONE);
+      break;
+    case LPARAN:
+    case PLS:
+    case MIN:
+    case NOT:
+    case SQRT:
+    case ABS:
+    case ID:
+    case INT:
       Expression();
     //@2
-    genQuad("putInt", argumentStack.pop()," ", " ");
-    } else {
+    genQuad(QuadOp.PUT_INT, argumentStack.pop(), Operand.NONE, Operand.NONE);
+      break;
+    default:
+      jj_la1[13] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
     label_8:
     while (true) {
-      if (jj_2_22(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case COMMA:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[14] = jj_gen;
         break label_8;
       }
       jj_consume_token(COMMA);
-      if (jj_2_23(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case STRING:
         token = jj_consume_token(STRING);
     //@3
-    index = findSTEntryById(token.image);
-        if(index == -1)
-        {
-      genSTEntry(token.image);  //Add literal to symbol table
-      genQuad("putString", token.image," ", " ");
-    }
-    else
-    {
-          genQuad("putString", token.image," ", " ");
-    }
-      } else if (jj_2_24(2)) {
+    literal = genSTEntry(token.image, Operand.STRING); //Added if not there
+    genQuad(QuadOp.PUT_STRING, literal, Operand.NONE, Operand.NONE);
+        break;
+      case LPARAN:
+      case PLS:
+      case MIN:
+      case NOT:
+      case SQRT:
+      case ABS:
+      case ID:
+      case INT:
         Expression();
     //@4
-        genQuad("putInt",  argumentStack.pop()," ", " ");
-      } else {
+        genQuad(QuadOp.PUT_INT, argumentStack.pop(), Operand.NONE, Operand.NONE);
+        break;
+      default:
+        jj_la1[15] = jj_gen;
         jj_consume_token(-1);
         throw new ParseException();
       }
@@ -606,25 +827,27 @@ public class Parser implements ParserConstants {
 //		OR operator. The result goes into a temporary variable.
 //
 //*************************************************************************************************
-  static final public void Expression() throws ParseException {
+  final public void Expression() throws ParseException {
     And();
     label_9:
     while (true) {
-      if (jj_2_25(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case OR:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[16] = jj_gen;
         break label_9;
       }
       jj_consume_token(OR);
       And();
         //@1
-        String secondArg = argumentStack.pop();
-        String firstArg = argumentStack.pop();
-        String temp = newTemp();
+        int secondArg = argumentStack.pop();
+        int firstArg = argumentStack.pop();
+        int temp = newTemp();
 
-        genQuad("|", firstArg, secondArg, temp);
+        genQuad(QuadOp.OR, firstArg, secondArg, temp);
 
-        genSTEntry(temp);
         argumentStack.push(temp);
     }
   }
@@ -642,25 +865,27 @@ public class Parser implements ParserConstants {
 //		AND operator. The result goes into a temporary variable.
 //
 //*************************************************************************************************
-  static final public void And() throws ParseException {
+  final public void And() throws ParseException {
     Rel();
     label_10:
     while (true) {
-      if (jj_2_26(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case AND:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[17] = jj_gen;
         break label_10;
       }
       jj_consume_token(AND);
       Rel();
         //@1
-        String secondArg = argumentStack.pop();
-        String firstArg = argumentStack.pop();
-        String temp = newTemp();
+        int secondArg = argumentStack.pop();
+        int firstArg = argumentStack.pop();
+        int temp = newTemp();
 
-        genQuad("&", firstArg, secondArg, temp);
+        genQuad(QuadOp.AND, firstArg, secondArg, temp);
 
-        genSTEntry(temp);
         argumentStack.push(temp);
     }
   }
@@ -678,25 +903,32 @@ public class Parser implements ParserConstants {
 //		the relational operator. The result goes into a temporary variable.
 //
 //*************************************************************************************************
-  static final public void Rel() throws ParseException {
-        String op;
+  final public void Rel() throws ParseException {
+        QuadOp op;
     Term();
     label_11:
     while (true) {
-      if (jj_2_27(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case LE:
+      case GE:
+      case NE:
+      case LT:
+      case GT:
+      case EQ:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[18] = jj_gen;
         break label_11;
       }
       op = Rel_Op();
       Term();
-        String secondArg = argumentStack.pop();
-        String firstArg = argumentStack.pop();
-        String temp = newTemp();
+        int secondArg = argumentStack.pop();
+        int firstArg = argumentStack.pop();
+        int temp = newTemp();
 
         genQuad(op, firstArg, secondArg, temp);
 
-        genSTEntry(temp);
         argumentStack.push(temp);
     }
   }
@@ -714,25 +946,28 @@ public class Parser implements ParserConstants {
 //		the add-operator. The result goes into a temporary variable.
 //
 //*************************************************************************************************
-  static final public void Term() throws ParseException {
-        String op;
+  final public void Term() throws ParseException {
+        QuadOp op;
     Factor();
     label_12:
     while (true) {
-      if (jj_2_28(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case PLS:
+      case MIN:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[19] = jj_gen;
         break label_12;
       }
       op = Add_Op();
       Factor();
-        String secondArg = argumentStack.pop();
-        String firstArg = argumentStack.pop();
-        String temp = newTemp();
+        int secondArg = argumentStack.pop();
+        int firstArg = argumentStack.pop();
+        int temp = newTemp();
 
         genQuad(op, firstArg, secondArg, temp);
 
-        genSTEntry(temp);
         argumentStack.push(temp);
     }
   }
@@ -750,25 +985,28 @@ public class Parser implements ParserConstants {
 //		the mul-operator. The result goes into a temporary variable.
 //
 //*************************************************************************************************
-  static final public void Factor() throws ParseException {
-        String op;
+  final public void Factor() throws ParseException {
+        QuadOp op;
     Primary();
     label_13:
     while (true) {
-      if (jj_2_29(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case MUL:
+      case DIV:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[20] = jj_gen;
         break label_13;
       }
       op = Mul_Op();
       Primary();
-        String secondArg = argumentStack.pop();
-        String firstArg = argumentStack.pop();
-        String temp = newTemp();
+        int secondArg = argumentStack.pop();
+        int firstArg = argumentStack.pop();
+        int temp = newTemp();
 
         genQuad(op, firstArg, secondArg, temp);
 
-        genSTEntry(temp);
         argumentStack.push(temp);
     }
   }
@@ -790,14 +1028,19 @@ public class Parser implements ParserConstants {
 //		temporary variable.
 //
 //*************************************************************************************************
-  static final public void Primary() throws ParseException {
-        String op;
-        Stack<String> unaryOps = new Stack<String>();
+  final public void Primary() throws ParseException {
+        QuadOp op;
+        Stack<QuadOp> unaryOps = new Stack<QuadOp>();
     label_14:
     while (true) {
-      if (jj_2_30(2)) {
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case PLS:
+      case MIN:
+      case NOT:
         ;
-      } else {
+        break;
+      default:
+        jj_la1[21] = jj_gen;
         break label_14;
       }
       op = Unary_Op();
@@ -813,10 +1056,9 @@ public class Parser implements ParserConstants {
 
                 for(int i = 0; i < s; i ++)
                 {
-                        String temp = newTemp();
-                        genQuad(unaryOps.pop(), argumentStack.pop(), " ", temp);
+                        int temp = newTemp();
+                        genQuad(unaryOps.pop(), argumentStack.pop(), Operand.NONE, temp);
 
-                        genSTEntry(temp);
                         argumentStack.push(temp);
                 }
         }
@@ -836,31 +1078,43 @@ public class Parser implements ParserConstants {
 //	@3:	If the user specified SQRT or ABS, a quad is generated and the result put in a temp var
 //
 //*************************************************************************************************
-  static final public void Unit() throws ParseException {
+  final public void Unit() throws ParseException {
   Token unit = null;
-    if (jj_2_34(2)) {
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case ID:
       unit = jj_consume_token(ID);
-                String image = unit.image.toUpperCase();
-                if(findSTEntryById(image) == -1)
+                int variable = findSTEntryById(unit.image.toUpperCase());
+                if(variable == Operand.NONE)
                 {if (true) throw new RuntimeException("Variable " + unit.image + " not declared!");}
 
-                argumentStack.push(image);
-    } else if (jj_2_35(2)) {
+                argumentStack.push(variable);
+      break;
+    case INT:
       unit = jj_consume_token(INT);
-                if(findSTEntryById(unit.image) == -1)
-                genSTEntry(unit.image);
-                argumentStack.push(unit.image);
-    } else if (jj_2_36(2)) {
-      if (jj_2_33(2)) {
-        if (jj_2_31(2)) {
+                argumentStack.push(genSTEntry(unit.image, Operand.CONSTANT)); //Added if not there
+
+      break;
+    case LPARAN:
+    case SQRT:
+    case ABS:
+      switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+      case SQRT:
+      case ABS:
+        switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+        case SQRT:
           unit = jj_consume_token(SQRT);
-        } else if (jj_2_32(2)) {
+          break;
+        case ABS:
           unit = jj_consume_token(ABS);
-        } else {
+          break;
+        default:
+          jj_la1[22] = jj_gen;
           jj_consume_token(-1);
           throw new ParseException();
         }
-      } else {
+        break;
+      default:
+        jj_la1[23] = jj_gen;
         ;
       }
       jj_consume_token(LPARAN);
@@ -868,13 +1122,14 @@ public class Parser implements ParserConstants {
       jj_consume_token(RPARAN);
                 if(!(unit == null))
                 {
-                        String temp = newTemp();
-                        genQuad(unit.image, argumentStack.pop(), " ", temp);
+                        int temp = newTemp();
+                        genQuad(unit.kind == SQRT ? QuadOp.SQRT : QuadOp.ABS, argumentStack.pop(), Operand.NONE, temp);
 
-                        genSTEntry(temp);
                         argumentStack.push(temp);
                 }
-    } else {
+      break;
+    default:
+      jj_la1[24] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
@@ -887,27 +1142,40 @@ public class Parser implements ParserConstants {
 
 //*************************************************************************************************
 // Begin RelOp Production
-//	Returns the matched operator.
+//	Returns the quad operation for the matched operator.
 //
 //*************************************************************************************************
-  static final public String Rel_Op() throws ParseException {
-    if (jj_2_37(2)) {
+  final public QuadOp Rel_Op() throws ParseException {
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case LT:
       jj_consume_token(LT);
-    } else if (jj_2_38(2)) {
+           {if (true) return QuadOp.LT;}
+      break;
+    case LE:
       jj_consume_token(LE);
-    } else if (jj_2_39(2)) {
+           {if (true) return QuadOp.LE;}
+      break;
+    case EQ:
       jj_consume_token(EQ);
-    } else if (jj_2_40(2)) {
+           {if (true) return QuadOp.EQ;}
+      break;
+    case NE:
       jj_consume_token(NE);
-    } else if (jj_2_41(2)) {
+           {if (true) return QuadOp.NE;}
+      break;
+    case GE:
       jj_consume_token(GE);
-    } else if (jj_2_42(2)) {
+           {if (true) return QuadOp.GE;}
+      break;
+    case GT:
       jj_consume_token(GT);
-    } else {
+           {if (true) return QuadOp.GT;}
+      break;
+    default:
+      jj_la1[25] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
-                {if (true) return getToken(0).image;}
     throw new Error("Missing return statement in function");
   }
 
@@ -918,19 +1186,24 @@ public class Parser implements ParserConstants {
 
 //*************************************************************************************************
 // Begin MulOp Production
-//	Returns the matched operator.
+//	Returns the quad operation for the matched operator.
 //
 //*************************************************************************************************
-  static final public String Mul_Op() throws ParseException {
-    if (jj_2_43(2)) {
+  final public QuadOp Mul_Op() throws ParseException {
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case MUL:
       jj_consume_token(MUL);
-    } else if (jj_2_44(2)) {
+            {if (true) return QuadOp.MUL;}
+      break;
+    case DIV:
       jj_consume_token(DIV);
-    } else {
+            {if (true) return QuadOp.DIV;}
+      break;
+    default:
+      jj_la1[26] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
-            {if (true) return getToken(0).image;}
     throw new Error("Missing return statement in function");
   }
 
@@ -941,19 +1214,24 @@ public class Parser implements ParserConstants {
 
 //*************************************************************************************************
 // Begin AddOp Production
-//	Returns the matched operator.
+//	Returns the quad operation for the matched operator.
 //
 //*************************************************************************************************
-  static final public String Add_Op() throws ParseException {
-    if (jj_2_45(2)) {
+  final public QuadOp Add_Op() throws ParseException {
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case PLS:
       jj_consume_token(PLS);
-    } else if (jj_2_46(2)) {
+            {if (true) return QuadOp.ADD;}
+      break;
+    case MIN:
       jj_consume_token(MIN);
-    } else {
+            {if (true) return QuadOp.SUB;}
+      break;
+    default:
+      jj_la1[27] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
-            {if (true) return getToken(0).image;}
     throw new Error("Missing return statement in function");
   }
 
@@ -964,827 +1242,41 @@ public class Parser implements ParserConstants {
 
 //*************************************************************************************************
 // Begin Unary Production
-//	Returns the matched operator.
+//	Returns the quad operation for the matched operator. (Unary minus and plus are different
+//	operations from subtraction and addition)
 //
 //*************************************************************************************************
-  static final public String Unary_Op() throws ParseException {
-    if (jj_2_47(2)) {
+  final public QuadOp Unary_Op() throws ParseException {
+    switch ((jj_ntk==-1)?jj_ntk():jj_ntk) {
+    case PLS:
       jj_consume_token(PLS);
-    } else if (jj_2_48(2)) {
+            {if (true) return QuadOp.POS;}
+      break;
+    case MIN:
       jj_consume_token(MIN);
-    } else if (jj_2_49(2)) {
+            {if (true) return QuadOp.NEG;}
+      break;
+    case NOT:
       jj_consume_token(NOT);
-    } else {
+            {if (true) return QuadOp.NOT;}
+      break;
+    default:
+      jj_la1[28] = jj_gen;
       jj_consume_token(-1);
       throw new ParseException();
     }
-            {if (true) return getToken(0).image;}
     throw new Error("Missing return statement in function");
   }
 
-  static private boolean jj_2_1(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_1(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(0, xla); }
-  }
-
-  static private boolean jj_2_2(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_2(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(1, xla); }
-  }
-
-  static private boolean jj_2_3(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_3(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(2, xla); }
-  }
-
-  static private boolean jj_2_4(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_4(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(3, xla); }
-  }
-
-  static private boolean jj_2_5(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_5(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(4, xla); }
-  }
-
-  static private boolean jj_2_6(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_6(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(5, xla); }
-  }
-
-  static private boolean jj_2_7(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_7(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(6, xla); }
-  }
-
-  static private boolean jj_2_8(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_8(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(7, xla); }
-  }
-
-  static private boolean jj_2_9(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_9(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(8, xla); }
-  }
-
-  static private boolean jj_2_10(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_10(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(9, xla); }
-  }
-
-  static private boolean jj_2_11(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_11(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(10, xla); }
-  }
-
-  static private boolean jj_2_12(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_12(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(11, xla); }
-  }
-
-  static private boolean jj_2_13(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_13(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(12, xla); }
-  }
-
-  static private boolean jj_2_14(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_14(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(13, xla); }
-  }
-
-  static private boolean jj_2_15(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_15(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(14, xla); }
-  }
-
-  static private boolean jj_2_16(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_16(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(15, xla); }
-  }
-
-  static private boolean jj_2_17(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_17(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(16, xla); }
-  }
-
-  static private boolean jj_2_18(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_18(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(17, xla); }
-  }
-
-  static private boolean jj_2_19(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_19(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(18, xla); }
-  }
-
-  static private boolean jj_2_20(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_20(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(19, xla); }
-  }
-
-  static private boolean jj_2_21(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_21(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(20, xla); }
-  }
-
-  static private boolean jj_2_22(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_22(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(21, xla); }
-  }
-
-  static private boolean jj_2_23(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_23(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(22, xla); }
-  }
-
-  static private boolean jj_2_24(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_24(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(23, xla); }
-  }
-
-  static private boolean jj_2_25(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_25(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(24, xla); }
-  }
-
-  static private boolean jj_2_26(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_26(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(25, xla); }
-  }
-
-  static private boolean jj_2_27(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_27(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(26, xla); }
-  }
-
-  static private boolean jj_2_28(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_28(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(27, xla); }
-  }
-
-  static private boolean jj_2_29(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_29(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(28, xla); }
-  }
-
-  static private boolean jj_2_30(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_30(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(29, xla); }
-  }
-
-  static private boolean jj_2_31(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_31(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(30, xla); }
-  }
-
-  static private boolean jj_2_32(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_32(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(31, xla); }
-  }
-
-  static private boolean jj_2_33(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_33(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(32, xla); }
-  }
-
-  static private boolean jj_2_34(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_34(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(33, xla); }
-  }
-
-  static private boolean jj_2_35(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_35(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(34, xla); }
-  }
-
-  static private boolean jj_2_36(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_36(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(35, xla); }
-  }
-
-  static private boolean jj_2_37(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_37(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(36, xla); }
-  }
-
-  static private boolean jj_2_38(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_38(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(37, xla); }
-  }
-
-  static private boolean jj_2_39(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_39(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(38, xla); }
-  }
-
-  static private boolean jj_2_40(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_40(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(39, xla); }
-  }
-
-  static private boolean jj_2_41(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_41(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(40, xla); }
-  }
-
-  static private boolean jj_2_42(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_42(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(41, xla); }
-  }
-
-  static private boolean jj_2_43(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_43(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(42, xla); }
-  }
-
-  static private boolean jj_2_44(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_44(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(43, xla); }
-  }
-
-  static private boolean jj_2_45(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_45(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(44, xla); }
-  }
-
-  static private boolean jj_2_46(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_46(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(45, xla); }
-  }
-
-  static private boolean jj_2_47(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_47(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(46, xla); }
-  }
-
-  static private boolean jj_2_48(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_48(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(47, xla); }
-  }
-
-  static private boolean jj_2_49(int xla) {
-    jj_la = xla; jj_lastpos = jj_scanpos = token;
-    try { return !jj_3_49(); }
-    catch(LookaheadSuccess ls) { return true; }
-    finally { jj_save(48, xla); }
-  }
-
-  static private boolean jj_3_26() {
-    if (jj_scan_token(AND)) return true;
-    if (jj_3R_19()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_49() {
-    if (jj_scan_token(NOT)) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_18() {
-    if (jj_3R_19()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3_26()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_31() {
-    if (jj_scan_token(SQRT)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_33() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_31()) {
-    jj_scanpos = xsp;
-    if (jj_3_32()) return true;
-    }
-    return false;
-  }
-
-  static private boolean jj_3R_23() {
-    if (jj_3R_25()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3_29()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_36() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_33()) jj_scanpos = xsp;
-    if (jj_scan_token(LPARAN)) return true;
-    if (jj_3R_16()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_4() {
-    if (jj_3R_15()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_1() {
-    if (jj_3R_15()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_48() {
-    if (jj_scan_token(MIN)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_5() {
-    if (jj_scan_token(ELSIF)) return true;
-    if (jj_3R_16()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_12() {
-    if (jj_3R_17()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_35() {
-    if (jj_scan_token(INT)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_19() {
-    if (jj_scan_token(COMMA)) return true;
-    if (jj_scan_token(ID)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_47() {
-    if (jj_scan_token(PLS)) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_26() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_47()) {
-    jj_scanpos = xsp;
-    if (jj_3_48()) {
-    jj_scanpos = xsp;
-    if (jj_3_49()) return true;
-    }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_11() {
-    if (jj_3R_15()) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_27() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_34()) {
-    jj_scanpos = xsp;
-    if (jj_3_35()) {
-    jj_scanpos = xsp;
-    if (jj_3_36()) return true;
-    }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_16() {
-    if (jj_scan_token(EXIT)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_12()) jj_scanpos = xsp;
-    if (jj_scan_token(SEMICOL)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_34() {
-    if (jj_scan_token(ID)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_25() {
-    if (jj_scan_token(OR)) return true;
-    if (jj_3R_18()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_28() {
-    if (jj_3R_22()) return true;
-    if (jj_3R_23()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_14() {
-    if (jj_scan_token(IF)) return true;
-    if (jj_3R_16()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_46() {
-    if (jj_scan_token(MIN)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_42() {
-    if (jj_scan_token(GT)) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_16() {
-    if (jj_3R_18()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3_25()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  static private boolean jj_3R_21() {
-    if (jj_3R_23()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3_28()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_45() {
-    if (jj_scan_token(PLS)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_41() {
-    if (jj_scan_token(GE)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_10() {
-    if (jj_scan_token(WHILE)) return true;
-    if (jj_3R_16()) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_22() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_45()) {
-    jj_scanpos = xsp;
-    if (jj_3_46()) return true;
-    }
-    return false;
-  }
-
-  static private boolean jj_3R_17() {
-    if (jj_scan_token(ID)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_44() {
-    if (jj_scan_token(DIV)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_40() {
-    if (jj_scan_token(NE)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_24() {
-    if (jj_3R_16()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_23() {
-    if (jj_scan_token(STRING)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_43() {
-    if (jj_scan_token(MUL)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_39() {
-    if (jj_scan_token(EQ)) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_24() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_43()) {
-    jj_scanpos = xsp;
-    if (jj_3_44()) return true;
-    }
-    return false;
-  }
-
-  static private boolean jj_3R_15() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_13()) {
-    jj_scanpos = xsp;
-    if (jj_3_14()) {
-    jj_scanpos = xsp;
-    if (jj_3_15()) {
-    jj_scanpos = xsp;
-    if (jj_3_16()) {
-    jj_scanpos = xsp;
-    if (jj_3_17()) {
-    jj_scanpos = xsp;
-    if (jj_3_18()) return true;
-    }
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_13() {
-    if (jj_scan_token(ID)) return true;
-    if (jj_scan_token(ASSN)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_27() {
-    if (jj_3R_20()) return true;
-    if (jj_3R_21()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_9() {
-    if (jj_3R_17()) return true;
-    if (jj_scan_token(COLON)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_15() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_9()) jj_scanpos = xsp;
-    xsp = jj_scanpos;
-    if (jj_3_10()) jj_scanpos = xsp;
-    if (jj_scan_token(LOOP)) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3_11()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_scan_token(END)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_22() {
-    if (jj_scan_token(COMMA)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_23()) {
-    jj_scanpos = xsp;
-    if (jj_3_24()) return true;
-    }
-    return false;
-  }
-
-  static private boolean jj_3_30() {
-    if (jj_3R_26()) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_25() {
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3_30()) { jj_scanpos = xsp; break; }
-    }
-    if (jj_3R_27()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_38() {
-    if (jj_scan_token(LE)) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_19() {
-    if (jj_3R_21()) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3_27()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_18() {
-    if (jj_scan_token(PUT)) return true;
-    if (jj_scan_token(LPARAN)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_21() {
-    if (jj_3R_16()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_37() {
-    if (jj_scan_token(LT)) return true;
-    return false;
-  }
-
-  static private boolean jj_3R_20() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3_37()) {
-    jj_scanpos = xsp;
-    if (jj_3_38()) {
-    jj_scanpos = xsp;
-    if (jj_3_39()) {
-    jj_scanpos = xsp;
-    if (jj_3_40()) {
-    jj_scanpos = xsp;
-    if (jj_3_41()) {
-    jj_scanpos = xsp;
-    if (jj_3_42()) return true;
-    }
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_3() {
-    if (jj_scan_token(QUIT)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_17() {
-    if (jj_scan_token(GET)) return true;
-    if (jj_scan_token(LPARAN)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_6() {
-    if (jj_3R_15()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_7() {
-    if (jj_3R_15()) return true;
-    return false;
-  }
-
-  static private boolean jj_3_20() {
-    if (jj_scan_token(STRING)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_32() {
-    if (jj_scan_token(ABS)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_2() {
-    if (jj_scan_token(0)) return true;
-    return false;
-  }
-
-  static private boolean jj_3_8() {
-    if (jj_scan_token(ELSE)) return true;
-    Token xsp;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3_7()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  static private boolean jj_3_29() {
-    if (jj_3R_24()) return true;
-    if (jj_3R_25()) return true;
-    return false;
-  }
-
-  static private boolean jj_initialized_once = false;
-  /** Generated Token Manager. */
-  static public ParserTokenManager token_source;
-  static SimpleCharStream jj_input_stream;
+  /** User defined Token Manager. */
+  public TokenManager token_source;
   /** Current token. */
-  static public Token token;
+  public Token token;
   /** Next token. */
-  static public Token jj_nt;
-  static private int jj_ntk;
-  static private Token jj_scanpos, jj_lastpos;
-  static private int jj_la;
-  static private int jj_gen;
-  static final private int[] jj_la1 = new int[0];
+  public Token jj_nt;
+  private int jj_ntk;
+  private int jj_gen;
+  final private int[] jj_la1 = new int[29];
   static private int[] jj_la1_0;
   static private int[] jj_la1_1;
   static {
@@ -1792,125 +1284,38 @@ public class Parser implements ParserConstants {
       jj_la1_init_1();
    }
    private static void jj_la1_init_0() {
-      jj_la1_0 = new int[] {};
+      jj_la1_0 = new int[] {0x2f800000,0x1,0x80002,0x2f800000,0x200000,0x2f800000,0x2f800000,0x100000,0x0,0x2f800000,0x20000000,0x2f800000,0x8,0xc001c010,0x8,0xc001c010,0x40000,0x20000,0xfc0,0xc000,0x3000,0x1c000,0xc0000000,0xc0000000,0xc0000010,0xfc0,0x3000,0xc000,0x1c000,};
    }
    private static void jj_la1_init_1() {
-      jj_la1_1 = new int[] {};
+      jj_la1_1 = new int[] {0x2,0x1,0x0,0x2,0x0,0x2,0x2,0x0,0x2,0x2,0x0,0x2,0x0,0xe,0x0,0xe,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x6,0x0,0x0,0x0,0x0,};
    }
-  static final private JJCalls[] jj_2_rtns = new JJCalls[49];
-  static private boolean jj_rescan = false;
-  static private int jj_gc = 0;
-
-  /** Constructor with InputStream. */
-  public Parser(java.io.InputStream stream) {
-     this(stream, null);
-  }
-  /** Constructor with InputStream and supplied encoding */
-  public Parser(java.io.InputStream stream, String encoding) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser.  ");
-      System.out.println("       You must either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
-    try { jj_input_stream = new SimpleCharStream(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
-    token_source = new ParserTokenManager(jj_input_stream);
-    token = new Token();
-    jj_ntk = -1;
-    jj_gen = 0;
-    for (int i = 0; i < 0; i++) jj_la1[i] = -1;
-    for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
-  }
-
-  /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream) {
-     ReInit(stream, null);
-  }
-  /** Reinitialise. */
-  static public void ReInit(java.io.InputStream stream, String encoding) {
-    try { jj_input_stream.ReInit(stream, encoding, 1, 1); } catch(java.io.UnsupportedEncodingException e) { throw new RuntimeException(e); }
-    token_source.ReInit(jj_input_stream);
-    token = new Token();
-    jj_ntk = -1;
-    jj_gen = 0;
-    for (int i = 0; i < 0; i++) jj_la1[i] = -1;
-    for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
-  }
 
-  /** Constructor. */
-  public Parser(java.io.Reader stream) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser. ");
-      System.out.println("       You must either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
-    jj_input_stream = new SimpleCharStream(stream, 1, 1);
-    token_source = new ParserTokenManager(jj_input_stream);
-    token = new Token();
-    jj_ntk = -1;
-    jj_gen = 0;
-    for (int i = 0; i < 0; i++) jj_la1[i] = -1;
-    for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
-  }
 
-  /** Reinitialise. */
-  static public void ReInit(java.io.Reader stream) {
-    jj_input_stream.ReInit(stream, 1, 1);
-    token_source.ReInit(jj_input_stream);
-    token = new Token();
-    jj_ntk = -1;
-    jj_gen = 0;
-    for (int i = 0; i < 0; i++) jj_la1[i] = -1;
-    for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
-  }
-
-  /** Constructor with generated Token Manager. */
-  public Parser(ParserTokenManager tm) {
-    if (jj_initialized_once) {
-      System.out.println("ERROR: Second call to constructor of static parser. ");
-      System.out.println("       You must either use ReInit() or set the JavaCC option STATIC to false");
-      System.out.println("       during parser generation.");
-      throw new Error();
-    }
-    jj_initialized_once = true;
+  /** Constructor with user supplied Token Manager. */
+  public Parser(TokenManager tm) {
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 0; i++) jj_la1[i] = -1;
-    for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+    for (int i = 0; i < 29; i++) jj_la1[i] = -1;
   }
 
   /** Reinitialise. */
-  public void ReInit(ParserTokenManager tm) {
+  public void ReInit(TokenManager tm) {
     token_source = tm;
     token = new Token();
     jj_ntk = -1;
     jj_gen = 0;
-    for (int i = 0; i < 0; i++) jj_la1[i] = -1;
-    for (int i = 0; i < jj_2_rtns.length; i++) jj_2_rtns[i] = new JJCalls();
+    for (int i = 0; i < 29; i++) jj_la1[i] = -1;
   }
 
-  static private Token jj_consume_token(int kind) throws ParseException {
+  private Token jj_consume_token(int kind) throws ParseException {
     Token oldToken;
     if ((oldToken = token).next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
     if (token.kind == kind) {
       jj_gen++;
-      if (++jj_gc > 100) {
-        jj_gc = 0;
-        for (int i = 0; i < jj_2_rtns.length; i++) {
-          JJCalls c = jj_2_rtns[i];
-          while (c != null) {
-            if (c.gen < jj_gen) c.first = null;
-            c = c.next;
-          }
-        }
-      }
       return token;
     }
     token = oldToken;
@@ -1918,32 +1323,9 @@ public class Parser implements ParserConstants {
     throw generateParseException();
   }
 
-  static private final class LookaheadSuccess extends java.lang.Error { }
-  static final private LookaheadSuccess jj_ls = new LookaheadSuccess();
-  static private boolean jj_scan_token(int kind) {
-    if (jj_scanpos == jj_lastpos) {
-      jj_la--;
-      if (jj_scanpos.next == null) {
-        jj_lastpos = jj_scanpos = jj_scanpos.next = token_source.getNextToken();
-      } else {
-        jj_lastpos = jj_scanpos = jj_scanpos.next;
-      }
-    } else {
-      jj_scanpos = jj_scanpos.next;
-    }
-    if (jj_rescan) {
-      int i = 0; Token tok = token;
-      while (tok != null && tok != jj_scanpos) { i++; tok = tok.next; }
-      if (tok != null) jj_add_error_token(kind, i);
-    }
-    if (jj_scanpos.kind != kind) return true;
-    if (jj_la == 0 && jj_scanpos == jj_lastpos) throw jj_ls;
-    return false;
-  }
-
 
 /** Get the next Token. */
-  static final public Token getNextToken() {
+  final public Token getNextToken() {
     if (token.next != null) token = token.next;
     else token = token.next = token_source.getNextToken();
     jj_ntk = -1;
@@ -1952,7 +1334,7 @@ public class Parser implements ParserConstants {
   }
 
 /** Get the specific Token. */
-  static final public Token getToken(int index) {
+  final public Token getToken(int index) {
     Token t = token;
     for (int i = 0; i < index; i++) {
       if (t.next != null) t = t.next;
@@ -1961,53 +1343,26 @@ public class Parser implements ParserConstants {
     return t;
   }
 
-  static private int jj_ntk() {
+  private int jj_ntk() {
     if ((jj_nt=token.next) == null)
       return (jj_ntk = (token.next=token_source.getNextToken()).kind);
     else
       return (jj_ntk = jj_nt.kind);
   }
 
-  static private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
-  static private int[] jj_expentry;
-  static private int jj_kind = -1;
-  static private int[] jj_lasttokens = new int[100];
-  static private int jj_endpos;
-
-  static private void jj_add_error_token(int kind, int pos) {
-    if (pos >= 100) return;
-    if (pos == jj_endpos + 1) {
-      jj_lasttokens[jj_endpos++] = kind;
-    } else if (jj_endpos != 0) {
-      jj_expentry = new int[jj_endpos];
-      for (int i = 0; i < jj_endpos; i++) {
-        jj_expentry[i] = jj_lasttokens[i];
-      }
-      jj_entries_loop: for (java.util.Iterator<?> it = jj_expentries.iterator(); it.hasNext();) {
-        int[] oldentry = (int[])(it.next());
-        if (oldentry.length == jj_expentry.length) {
-          for (int i = 0; i < jj_expentry.length; i++) {
-            if (oldentry[i] != jj_expentry[i]) {
-              continue jj_entries_loop;
-            }
-          }
-          jj_expentries.add(jj_expentry);
-          break jj_entries_loop;
-        }
-      }
-      if (pos != 0) jj_lasttokens[(jj_endpos = pos) - 1] = kind;
-    }
-  }
+  private java.util.List<int[]> jj_expentries = new java.util.ArrayList<int[]>();
+  private int[] jj_expentry;
+  private int jj_kind = -1;
 
   /** Generate ParseException. */
-  static public ParseException generateParseException() {
+  public ParseException generateParseException() {
     jj_expentries.clear();
-    boolean[] la1tokens = new boolean[43];
+    boolean[] la1tokens = new boolean[38];
     if (jj_kind >= 0) {
       la1tokens[jj_kind] = true;
       jj_kind = -1;
     }
-    for (int i = 0; i < 0; i++) {
+    for (int i = 0; i < 29; i++) {
       if (jj_la1[i] == jj_gen) {
         for (int j = 0; j < 32; j++) {
           if ((jj_la1_0[i] & (1<<j)) != 0) {
@@ -2019,16 +1374,13 @@ public class Parser implements ParserConstants {
         }
       }
     }
-    for (int i = 0; i < 43; i++) {
+    for (int i = 0; i < 38; i++) {
       if (la1tokens[i]) {
         jj_expentry = new int[1];
         jj_expentry[0] = i;
         jj_expentries.add(jj_expentry);
       }
     }
-    jj_endpos = 0;
-    jj_rescan_token();
-    jj_add_error_token(0, 0);
     int[][] exptokseq = new int[jj_expentries.size()][];
     for (int i = 0; i < jj_expentries.size(); i++) {
       exptokseq[i] = jj_expentries.get(i);
@@ -2037,94 +1389,11 @@ public class Parser implements ParserConstants {
   }
 
   /** Enable tracing. */
-  static final public void enable_tracing() {
+  final public void enable_tracing() {
   }
 
   /** Disable tracing. */
-  static final public void disable_tracing() {
-  }
-
-  static private void jj_rescan_token() {
-    jj_rescan = true;
-    for (int i = 0; i < 49; i++) {
-    try {
-      JJCalls p = jj_2_rtns[i];
-      do {
-        if (p.gen > jj_gen) {
-          jj_la = p.arg; jj_lastpos = jj_scanpos = p.first;
-          switch (i) {
-            case 0: jj_3_1(); break;
-            case 1: jj_3_2(); break;
-            case 2: jj_3_3(); break;
-            case 3: jj_3_4(); break;
-            case 4: jj_3_5(); break;
-            case 5: jj_3_6(); break;
-            case 6: jj_3_7(); break;
-            case 7: jj_3_8(); break;
-            case 8: jj_3_9(); break;
-            case 9: jj_3_10(); break;
-            case 10: jj_3_11(); break;
-            case 11: jj_3_12(); break;
-            case 12: jj_3_13(); break;
-            case 13: jj_3_14(); break;
-            case 14: jj_3_15(); break;
-            case 15: jj_3_16(); break;
-            case 16: jj_3_17(); break;
-            case 17: jj_3_18(); break;
-            case 18: jj_3_19(); break;
-            case 19: jj_3_20(); break;
-            case 20: jj_3_21(); break;
-            case 21: jj_3_22(); break;
-            case 22: jj_3_23(); break;
-            case 23: jj_3_24(); break;
-            case 24: jj_3_25(); break;
-            case 25: jj_3_26(); break;
-            case 26: jj_3_27(); break;
-            case 27: jj_3_28(); break;
-            case 28: jj_3_29(); break;
-            case 29: jj_3_30(); break;
-            case 30: jj_3_31(); break;
-            case 31: jj_3_32(); break;
-            case 32: jj_3_33(); break;
-            case 33: jj_3_34(); break;
-            case 34: jj_3_35(); break;
-            case 35: jj_3_36(); break;
-            case 36: jj_3_37(); break;
-            case 37: jj_3_38(); break;
-            case 38: jj_3_39(); break;
-            case 39: jj_3_40(); break;
-            case 40: jj_3_41(); break;
-            case 41: jj_3_42(); break;
-            case 42: jj_3_43(); break;
-            case 43: jj_3_44(); break;
-            case 44: jj_3_45(); break;
-            case 45: jj_3_46(); break;
-            case 46: jj_3_47(); break;
-            case 47: jj_3_48(); break;
-            case 48: jj_3_49(); break;
-          }
-        }
-        p = p.next;
-      } while (p != null);
-      } catch(LookaheadSuccess ls) { }
-    }
-    jj_rescan = false;
-  }
-
-  static private void jj_save(int index, int xla) {
-    JJCalls p = jj_2_rtns[index];
-    while (p.gen > jj_gen) {
-      if (p.next == null) { p = p.next = new JJCalls(); break; }
-      p = p.next;
-    }
-    p.gen = jj_gen + xla - jj_la; p.first = token; p.arg = xla;
-  }
-
-  static final class JJCalls {
-    int gen;
-    Token first;
-    int arg;
-    JJCalls next;
+  final public void disable_tracing() {
   }
 
   //*******************************************************************************************
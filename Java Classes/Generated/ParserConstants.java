@@ -9,91 +9,83 @@ public interface ParserConstants {
   /** End of File. */
   int EOF = 0;
   /** RegularExpression Id. */
-  int COLON = 6;
+  int COLON = 1;
   /** RegularExpression Id. */
-  int SEMICOL = 7;
+  int SEMICOL = 2;
   /** RegularExpression Id. */
-  int COMMA = 8;
+  int COMMA = 3;
   /** RegularExpression Id. */
-  int LPARAN = 9;
+  int LPARAN = 4;
   /** RegularExpression Id. */
-  int RPARAN = 10;
+  int RPARAN = 5;
   /** RegularExpression Id. */
-  int LE = 11;
+  int LE = 6;
   /** RegularExpression Id. */
-  int GE = 12;
+  int GE = 7;
   /** RegularExpression Id. */
-  int NE = 13;
+  int NE = 8;
   /** RegularExpression Id. */
-  int LT = 14;
+  int LT = 9;
   /** RegularExpression Id. */
-  int GT = 15;
+  int GT = 10;
   /** RegularExpression Id. */
-  int EQ = 16;
+  int EQ = 11;
   /** RegularExpression Id. */
-  int MUL = 17;
+  int MUL = 12;
   /** RegularExpression Id. */
-  int DIV = 18;
+  int DIV = 13;
   /** RegularExpression Id. */
-  int PLS = 19;
+  int PLS = 14;
   /** RegularExpression Id. */
-  int MIN = 20;
+  int MIN = 15;
   /** RegularExpression Id. */
-  int NOT = 21;
+  int NOT = 16;
   /** RegularExpression Id. */
-  int AND = 22;
+  int AND = 17;
   /** RegularExpression Id. */
-  int OR = 23;
+  int OR = 18;
   /** RegularExpression Id. */
-  int ASSN = 24;
+  int ASSN = 19;
   /** RegularExpression Id. */
-  int ELSE = 25;
+  int ELSE = 20;
   /** RegularExpression Id. */
-  int ELSIF = 26;
+  int ELSIF = 21;
   /** RegularExpression Id. */
-  int END = 27;
+  int END = 22;
   /** RegularExpression Id. */
-  int EXIT = 28;
+  int EXIT = 23;
   /** RegularExpression Id. */
-  int GET = 29;
+  int GET = 24;
   /** RegularExpression Id. */
-  int IF = 30;
+  int IF = 25;
   /** RegularExpression Id. */
-  int LOOP = 31;
+  int LOOP = 26;
   /** RegularExpression Id. */
-  int PUT = 32;
+  int PUT = 27;
   /** RegularExpression Id. */
-  int THEN = 33;
+  int THEN = 28;
   /** RegularExpression Id. */
-  int WHILE = 34;
+  int WHILE = 29;
   /** RegularExpression Id. */
-  int SQRT = 35;
+  int SQRT = 30;
   /** RegularExpression Id. */
-  int ABS = 36;
+  int ABS = 31;
   /** RegularExpression Id. */
-  int QUIT = 37;
+  int QUIT = 32;
   /** RegularExpression Id. */
-  int ID = 38;
+  int ID = 33;
   /** RegularExpression Id. */
-  int INT = 39;
+  int INT = 34;
   /** RegularExpression Id. */
-  int STRING = 40;
+  int STRING = 35;
   /** RegularExpression Id. */
-  int LETTER = 41;
+  int LETTER = 36;
   /** RegularExpression Id. */
-  int DIGIT = 42;
-
-  /** Lexical state. */
-  int DEFAULT = 0;
+  int DIGIT = 37;
 
   /** Literal token values. */
   String[] tokenImage = {
     "<EOF>",
-    "\" \"",
-    "\"\\t\"",
-    "\"\\n\"",
-    "\"\\r\"",
-    "<token of kind 5>",
     "\":\"",
     "\";\"",
     "\",\"",
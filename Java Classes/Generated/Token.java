@@ -29,6 +29,18 @@ public class Token implements java.io.Serializable {
   /** The column number of the last character of this Token. */
   public int endColumn;
 
+  /** The offset in the source of the first character of this Token. */
+  public int beginOffset;
+  /** The offset in the source just past the last character of this Token. */
+  public int endOffset;
+
+  /**
+   * The line starts of the source this Token came from. When this is set
+   * the token manager has only recorded the offsets, and the line and
+   * column fields are filled in by resolvePosition().
+   */
+  public transient LineMap lineMap;
+
   /**
    * The string image of the token.
    */
@@ -92,6 +104,20 @@ public class Token implements java.io.Serializable {
     this.image = image;
   }
 
+  /**
+   * Fills in the line and column fields from the offsets, if the token
+   * manager left them to be worked out on demand.
+   */
+  public void resolvePosition()
+  {
+    if (lineMap == null) return;
+    int last = Math.max(beginOffset, endOffset - 1);
+    beginLine = lineMap.lineOf(beginOffset);
+    beginColumn = lineMap.columnOf(beginOffset);
+    endLine = lineMap.lineOf(last);
+    endColumn = lineMap.columnOf(last);
+  }
+
   /**
    * Returns the image.
    */
@@ -0,0 +1,353 @@
+
+
+import java.util.List;
+//*************************************************************************************************
+// Begin Instruction Class
+//	This class represents one line of the generated 68K program: an instruction, or an ORG or DC
+//	directive. The code generator builds lists of instructions and only renders them as text
+//	once the program is complete, so later passes can work on the instructions themselves
+//	(their opcodes and operands) rather than on strings.
+//
+//	An instruction's address is not known while it is being generated. Once a section is
+//	complete its instructions are laid out, each getting the address after the one before it
+//	(see getLength), and branch targets are written as the address of the instruction they
+//	refer to.
+//
+//*************************************************************************************************
+public class Instruction {
+
+	//*********************************************************************************************
+	// Begin Opcode Enumeration
+	//		The operations the code generator emits. MUL, DIV, SQRT and ABS (and their immediate
+	//		forms) are the simulator's, not the 68000's.
+	//*********************************************************************************************
+	public enum Opcode{
+		MOVE, MOVEA, MOVEQ,
+		ADD, ADDI, ADDA, SUB, SUBI, SUBA, MUL, MULI, DIV, DIVI,
+		AND, ANDI, OR, ORI,
+		NEG, NOT, SQRT, ABS,
+		CMP, CMPI, CMPA, CLR, TST,
+		BRA, BEQ, BNE, BLT, BLE, BGT, BGE, JMP,
+		SEQ, SNE, SLT, SLE, SGT, SGE,
+		TRAP,
+		ORG, DC;
+
+		//Returns the form of this operation that takes an immediate source (e.g. ADDI for ADD)
+		public Opcode immediateForm(){
+			switch(this){
+				case ADD:	return ADDI;
+				case SUB:	return SUBI;
+				case MUL:	return MULI;
+				case DIV:	return DIVI;
+				case AND:	return ANDI;
+				case OR:	return ORI;
+				case CMP:	return CMPI;
+				default:	return this;
+			}
+		}
+
+		//Is this a PC relative branch (Bcc or BRA)?
+		public boolean isBranch(){
+			return this.compareTo(BRA) >= 0 && this.compareTo(BGE) <= 0;
+		}
+
+		//Is this a conditional branch (a Bcc other than BRA)?
+		public boolean isConditionalBranch(){
+			return isBranch() && this != BRA;
+		}
+
+		//Is this an Scc (setting a byte to all ones or zeros by a condition)?
+		public boolean isSet(){
+			return this.compareTo(SEQ) >= 0 && this.compareTo(SGE) <= 0;
+		}
+
+		//Returns the Scc that sets its byte when this branch would be taken (e.g. SEQ for BEQ)
+		public Opcode setForm(){
+			switch(this){
+				case BEQ:	return SEQ;
+				case BNE:	return SNE;
+				case BLT:	return SLT;
+				case BLE:	return SLE;
+				case BGT:	return SGT;
+				case BGE:	return SGE;
+				default:	return this;
+			}
+		}
+
+		//Returns the conditional branch taken when this one isn't (e.g. BNE for BEQ)
+		public Opcode inverse(){
+			switch(this){
+				case BEQ:	return BNE;
+				case BNE:	return BEQ;
+				case BLT:	return BGE;
+				case BGE:	return BLT;
+				case BLE:	return BGT;
+				case BGT:	return BLE;
+				default:	return this;
+			}
+		}
+	}
+	//*********************************************************************************************
+	// End Opcode Enumeration
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Size Enumeration
+	//		The size suffix of an instruction, and the number of bytes it operates on. S marks
+	//		a short branch (an 8 bit displacement).
+	//*********************************************************************************************
+	public enum Size{
+		NONE("", 0),
+		S(".S", 0),
+		B(".B", 1),
+		W(".W", 2),
+		L(".L", 4);
+
+		private final String suffix;
+		private final int bytes;
+
+		Size(String suffix, int bytes){
+			this.suffix = suffix;
+			this.bytes = bytes;
+		}
+
+		public String getSuffix(){
+			return suffix;
+		}
+
+		public int getBytes(){
+			return bytes;
+		}
+	}
+	//*********************************************************************************************
+	// End Size Enumeration
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type				Description
+	// ---------		----------------	-------------------------------------------
+	// opcode			Opcode				The operation
+	// size				Size				The size suffix
+	// source			EffectiveAddress	The source operand (or null)
+	// destination		EffectiveAddress	The destination operand (or null). Single operand
+	//										instructions use the destination.
+	// label			String				The label defined by a DC directive (or null)
+	// comment			String				A comment written after the operands (or null)
+	// address			int					The address given to the instruction by layout
+	//
+	//*********************************************************************************************
+	private Opcode opcode;
+	private Size size;
+	private EffectiveAddress source;
+	private EffectiveAddress destination;
+	private String label;
+	private String comment;
+	private int address;
+
+
+	//*********************************************************************************************
+	// Begin Constructors
+	//		Initializes class variables
+	//
+	//*********************************************************************************************
+	public Instruction(Opcode opcode, Size size, EffectiveAddress source, EffectiveAddress destination){
+		this.opcode = opcode;
+		this.size = size;
+		this.source = source;
+		this.destination = destination;
+	}
+
+	public Instruction(Opcode opcode, Size size, EffectiveAddress destination){
+		this(opcode, size, null, destination);
+	}
+	//*********************************************************************************************
+	// End Constructors
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get/Set Methods
+	//*********************************************************************************************
+	public Opcode getOpcode(){
+		return opcode;
+	}
+
+	public void setOpcode(Opcode opcode){
+		this.opcode = opcode;
+	}
+
+	public Size getSize(){
+		return size;
+	}
+
+	public void setSize(Size size){
+		this.size = size;
+	}
+
+	public EffectiveAddress getSource(){
+		return source;
+	}
+
+	public void setSource(EffectiveAddress source){
+		this.source = source;
+	}
+
+	public EffectiveAddress getDestination(){
+		return destination;
+	}
+
+	public void setDestination(EffectiveAddress destination){
+		this.destination = destination;
+	}
+
+	public String getLabel(){
+		return label;
+	}
+
+	public Instruction setLabel(String label){
+		this.label = label;
+		return this;
+	}
+
+	public String getComment(){
+		return comment;
+	}
+
+	public Instruction setComment(String comment){
+		this.comment = comment;
+		return this;
+	}
+
+	public int getAddress(){
+		return address;
+	}
+
+	public void setAddress(int address){
+		this.address = address;
+	}
+	//*********************************************************************************************
+	// End Get/Set Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Length Method
+	//		Returns the number of bytes the instruction occupies once assembled: the operation
+	//		word and the extension words of its operands. MOVEQ and TRAP keep their operand in
+	//		the operation word, as do short branches. Other branches have a 16 bit displacement.
+	//
+	//*********************************************************************************************
+	public int getLength(){
+		switch(opcode){
+			case ORG:
+				return 0;
+			case DC:
+				if(source.getKind() == EffectiveAddress.Kind.TEXT)
+					return source.getName().length();
+				return size.getBytes();
+			case MOVEQ:
+			case TRAP:
+				return 2;
+			default:
+				if(opcode.isBranch())
+					return size == Size.S ? 2 : 4;
+				return 2 + extensionLength(source) + extensionLength(destination);
+		}
+	}
+
+	private int extensionLength(EffectiveAddress operand){
+		return operand == null ? 0 : operand.getExtensionLength(size);
+	}
+	//*********************************************************************************************
+	// End Get Length Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Layout Method
+	//		Gives each instruction of a section its address: the address after the instruction
+	//		before it, or the address of an ORG. Everything but byte data is word aligned.
+	//
+	//*********************************************************************************************
+	public static void layout(List<Instruction> section){
+		int address = 0;
+		for(Instruction instruction : section){
+			if(instruction.opcode == Opcode.ORG)
+				address = instruction.source.getValue();
+			else if(instruction.isWordAligned())
+				address = (address + 1) & ~1;
+			instruction.address = address;
+			address += instruction.getLength();
+		}
+	}
+	//*********************************************************************************************
+	// End Layout Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Is Word Aligned Method
+	//		Must the instruction start at an even address? Everything but byte data must.
+	//
+	//*********************************************************************************************
+	public boolean isWordAligned(){
+		return opcode != Opcode.ORG && !(opcode == Opcode.DC && size == Size.B);
+	}
+	//*********************************************************************************************
+	// End Is Word Aligned Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Render Methods
+	//		Write the instruction as a line of the listing, preceded by its address, either to a
+	//		new string or to the end of the given StringBuilder. Labels in the operands refer to
+	//		instructions in the given section.
+	//
+	//*********************************************************************************************
+	public String render(List<Instruction> section){
+		StringBuilder line = new StringBuilder();
+		render(section, line);
+		return line.toString();
+	}
+
+	public void render(List<Instruction> section, StringBuilder line){
+		if(opcode == Opcode.ORG){
+			line.append("\tORG\t\t").append(source.render(section));
+			return;
+		}
+
+		line.append(Integer.toHexString(address)).append('\t');
+		if(opcode == Opcode.DC){
+			//DC values are written without the '#' of an immediate
+			line.append(label == null ? "" : label).append("\tDC").append(size.getSuffix()).append('\t');
+			if(source.getKind() == EffectiveAddress.Kind.IMMEDIATE)
+				line.append(source.getValue());
+			else
+				line.append(source.render(section));
+		}else{
+			line.append(opcode.name()).append(size.getSuffix()).append("\t\t");
+			if(source != null){
+				line.append(source.render(section));
+				if(destination != null)
+					line.append(',');
+			}
+			if(destination != null)
+				line.append(destination.render(section));
+		}
+
+		if(comment != null)
+			line.append("\t;").append(comment);
+	}
+	//*********************************************************************************************
+	// End Render Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End Instruction Class
+//*************************************************************************************************
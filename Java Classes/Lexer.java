@@ -0,0 +1,417 @@
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+//*************************************************************************************************
+// Begin Lexer Class
+//	This class is the token manager for the parser. It scans the source bytes directly (the
+//	language is ASCII-only) and hands tokens to the parser through JavaCC's TokenManager
+//	interface, using the token kinds from ParserConstants.
+//
+//	Reserved words are recognized with a perfect hash on the first character, last character,
+//	and length of an identifier, ignoring case. The hit is then checked against the word's two
+//	legal spellings (all capitals or all lowercase), so "Else" is still an identifier.
+//
+//	Only ID, INT and STRING tokens get an image built from the source; every other kind of
+//	token shares one constant image.
+//
+//	Tokens only record their offsets in the source. The lexer keeps a LineMap of where each line
+//	starts, and a token's line and column are worked out from it when an error needs them.
+//
+//	A source file is memory-mapped and scanned in place, so even very large programs are
+//	never copied or buffered. Input from a stream is read into memory first.
+//
+//*************************************************************************************************
+public class Lexer implements TokenManager, ParserConstants {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		----------		---------------------------------------------------------
+	// KEYWORDS			String[]		The reserved words, in the same order as KEYWORD_KINDS
+	// KEYWORD_KINDS	int[]			The token kind of each reserved word
+	// keywordTable		int[]			The perfect hash table: each slot holds an index into
+	//									KEYWORDS, or -1 if empty
+	// images			String[]		The constant image for each kind of fixed token
+	// input			ByteBuffer		The source being scanned
+	// pos				int				The offset of the next byte to scan
+	// limit			int				The offset one past the last byte of the source
+	// lines			LineMap			The offset of each line start seen so far
+	// imageBuffer		char[]			Scratch space for building ID, INT and STRING images
+	//
+	//*********************************************************************************************
+	private static final String[] KEYWORDS = { "ELSE", "ELSIF", "END", "EXIT", "GET", "IF",
+		"LOOP", "PUT", "THEN", "WHILE", "SQRT", "ABS" };
+	private static final int[] KEYWORD_KINDS = { ELSE, ELSIF, END, EXIT, GET, IF,
+		LOOP, PUT, THEN, WHILE, SQRT, ABS };
+	private static final int KEYWORD_TABLE_SIZE = 16;
+	private static final int[] keywordTable = new int[KEYWORD_TABLE_SIZE];
+	private static final String[] images = new String[tokenImage.length];
+
+	private ByteBuffer input;
+	private int pos;
+	private int limit;
+	private LineMap lines;
+	private char[] imageBuffer = new char[64];
+
+
+	//*********************************************************************************************
+	// Begin Static Initializer
+	//		Fills in the reserved word hash table and the constant token images. The hash is
+	//		checked to be perfect here, so a new reserved word that collides fails right away.
+	//
+	//*********************************************************************************************
+	static{
+		Arrays.fill(keywordTable, -1);
+		for(int i = 0; i < KEYWORDS.length; i++){
+			String word = KEYWORDS[i];
+			int slot = keywordHash(word.charAt(0), word.charAt(word.length()-1), word.length());
+			if(keywordTable[slot] != -1)
+				throw new Error("Reserved words " + word + " and " + KEYWORDS[keywordTable[slot]]
+						+ " collide in the keyword hash");
+			keywordTable[slot] = i;
+			images[KEYWORD_KINDS[i]] = word;
+		}
+
+		images[EOF] = "";
+		images[COLON] = ":";
+		images[SEMICOL] = ";";
+		images[COMMA] = ",";
+		images[LPARAN] = "(";
+		images[RPARAN] = ")";
+		images[LE] = "<=";
+		images[GE] = ">=";
+		images[NE] = "/=";
+		images[LT] = "<";
+		images[GT] = ">";
+		images[EQ] = "=";
+		images[MUL] = "*";
+		images[DIV] = "/";
+		images[PLS] = "+";
+		images[MIN] = "-";
+		images[NOT] = "^";
+		images[AND] = "&";
+		images[OR] = "|";
+		images[ASSN] = ":=";
+		images[QUIT] = "$QUIT";
+	}
+	//*********************************************************************************************
+	// End Static Initializer
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Constructors
+	//		Scan the given buffer (from its position to its limit), the given file (mapped into
+	//		memory), or everything that can be read from the given stream.
+	//
+	//*********************************************************************************************
+	public Lexer(ByteBuffer input){
+		this.input = input;
+		pos = input.position();
+		limit = input.limit();
+		lines = new LineMap(input, pos);
+	}
+
+	public Lexer(File source) throws IOException{
+		this(mapFile(source));
+	}
+
+	public Lexer(InputStream in) throws IOException{
+		this(readFully(in));
+	}
+	//*********************************************************************************************
+	// End Constructors
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Next Token Method
+	//		Skips whitespace and comments, then matches the longest token at the current
+	//		position. Returns an EOF token at the end of the input.
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// c				int				The current byte
+	// start			int				The offset where the token begins
+	// kind				int				The kind of token matched
+	//
+	//*********************************************************************************************
+	public Token getNextToken(){
+		int c = 0;
+		int start;
+		int kind;
+
+		//Skip whitespace and single-line comments
+		while(pos < limit){
+			c = input.get(pos);
+			if(c == ' ' || c == '\t'){
+				pos++;
+			}else if(c == '\n'){
+				pos++;
+				newLine();
+			}else if(c == '\r'){
+				//A \r\n pair is a single line break
+				pos++;
+				if(pos < limit && input.get(pos) == '\n')
+					pos++;
+				newLine();
+			}else if(c == '/' && pos + 1 < limit && input.get(pos + 1) == '/'){
+				pos += 2;
+				while(pos < limit && isPrintable(input.get(pos)))
+					pos++;
+			}else{
+				break;
+			}
+		}
+
+		start = pos;
+		if(pos >= limit)
+			return makeToken(EOF, images[EOF], start);
+
+		pos++;
+		switch(c){
+			case ';':	kind = SEMICOL;	break;
+			case ',':	kind = COMMA;	break;
+			case '(':	kind = LPARAN;	break;
+			case ')':	kind = RPARAN;	break;
+			case '=':	kind = EQ;		break;
+			case '*':	kind = MUL;		break;
+			case '+':	kind = PLS;		break;
+			case '-':	kind = MIN;		break;
+			case '^':	kind = NOT;		break;
+			case '&':	kind = AND;		break;
+			case '|':	kind = OR;		break;
+			case ':':	kind = follows('=') ? ASSN : COLON;	break;
+			case '<':	kind = follows('=') ? LE : LT;		break;
+			case '>':	kind = follows('=') ? GE : GT;		break;
+			case '/':	kind = follows('=') ? NE : DIV;		break;
+
+			case '"':
+				return scanString(start);
+
+			case '$':
+				//The only token starting with '$' is the quit keyword
+				for(int i = 1; i < images[QUIT].length(); i++){
+					if(pos >= limit || input.get(pos) != images[QUIT].charAt(i))
+						throw lexicalError(start);
+					pos++;
+				}
+				kind = QUIT;
+				break;
+
+			default:
+				if(isLetter(c))
+					return scanIdentifier(start);
+				if(isDigit(c))
+					return scanInteger(start);
+				pos--;
+				throw lexicalError(start);
+		}
+		return makeToken(kind, images[kind], start);
+	}
+	//*********************************************************************************************
+	// End Get Next Token Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Scan Identifier Method
+	//		Matches an identifier (letter (letter | digit)*) and checks whether it is a reserved
+	//		word.
+	//
+	//*********************************************************************************************
+	private Token scanIdentifier(int start){
+		while(pos < limit && isLetterOrDigit(input.get(pos)))
+			pos++;
+
+		int length = pos - start;
+		int index = keywordTable[keywordHash(input.get(start), input.get(pos - 1), length)];
+		if(index != -1 && isSpelledAs(KEYWORDS[index], start, length))
+			return makeToken(KEYWORD_KINDS[index], KEYWORDS[index], start);
+
+		return makeToken(ID, image(start, pos), start);
+	}
+	//*********************************************************************************************
+	// End Scan Identifier Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Scan Integer Method
+	//		Matches an integer literal (digit+)
+	//
+	//*********************************************************************************************
+	private Token scanInteger(int start){
+		while(pos < limit && isDigit(input.get(pos)))
+			pos++;
+		return makeToken(INT, image(start, pos), start);
+	}
+	//*********************************************************************************************
+	// End Scan Integer Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Scan String Method
+	//		Matches a string literal. The opening quote has already been consumed; the image
+	//		includes both quotes.
+	//
+	//*********************************************************************************************
+	private Token scanString(int start){
+		while(pos < limit && isPrintable(input.get(pos)))
+			pos++;
+
+		if(pos >= limit || input.get(pos) != '"')
+			throw lexicalError(start);
+
+		pos++;
+		return makeToken(STRING, image(start, pos), start);
+	}
+	//*********************************************************************************************
+	// End Scan String Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Make Token Method
+	//		Creates a token of the given kind that runs from start to the current position. Its
+	//		line and column are left to Token.resolvePosition.
+	//
+	//*********************************************************************************************
+	private Token makeToken(int kind, String image, int start){
+		Token token = new Token(kind, image);
+		token.beginOffset = start;
+		token.endOffset = pos;
+		token.lineMap = lines;
+		return token;
+	}
+	//*********************************************************************************************
+	// End Make Token Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Lexical Error Method
+	//		Builds the error for an unexpected character at the current position (or the end of
+	//		the input). The text of the token matched so far is included in the message.
+	//
+	//*********************************************************************************************
+	private TokenMgrError lexicalError(int start){
+		boolean eofSeen = pos >= limit;
+		char badChar = eofSeen ? ' ' : (char)(input.get(pos) & 0xFF);
+		return new TokenMgrError(eofSeen, 0, lines.lineOf(pos), lines.columnOf(pos), image(start, pos),
+				badChar, TokenMgrError.LEXICAL_ERROR);
+	}
+	//*********************************************************************************************
+	// End Lexical Error Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Helper Methods
+	//*********************************************************************************************
+
+	//Hash of a possible reserved word. Letters are folded to lowercase (setting bit 0x20 leaves
+	//digits unchanged), so both spellings of a word land in the same slot.
+	private static int keywordHash(int first, int last, int length){
+		return ((first | 0x20) * 13 + (last | 0x20) + length) & (KEYWORD_TABLE_SIZE - 1);
+	}
+
+	//Is the identifier at start spelled exactly as the reserved word, in all capitals or all
+	//lowercase?
+	private boolean isSpelledAs(String word, int start, int length){
+		if(word.length() != length)
+			return false;
+
+		boolean upper = true, lower = true;
+		for(int i = 0; i < length; i++){
+			int c = input.get(start + i);
+			int w = word.charAt(i);
+			upper &= c == w;
+			lower &= c == (w | 0x20);
+		}
+		return upper || lower;
+	}
+
+	//Consumes the next byte if it is the expected one
+	private boolean follows(char expected){
+		if(pos < limit && input.get(pos) == expected){
+			pos++;
+			return true;
+		}
+		return false;
+	}
+
+	private void newLine(){
+		lines.addLine(pos);
+	}
+
+	//Builds the image of the bytes from start up to (not including) end
+	private String image(int start, int end){
+		int length = end - start;
+		if(length > imageBuffer.length)
+			imageBuffer = new char[Math.max(length, imageBuffer.length * 2)];
+		for(int i = 0; i < length; i++)
+			imageBuffer[i] = (char)(input.get(start + i) & 0xFF);
+		return new String(imageBuffer, 0, length);
+	}
+
+	private static boolean isLetter(int c){
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+
+	private static boolean isDigit(int c){
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isLetterOrDigit(int c){
+		return isLetter(c) || isDigit(c);
+	}
+
+	//Characters allowed in comments and strings: printable ASCII other than the double quote
+	private static boolean isPrintable(int c){
+		return c >= ' ' && c <= '~' && c != '"';
+	}
+
+	//Maps the whole file into memory read-only. The mapping stays valid after the file is closed.
+	private static ByteBuffer mapFile(File source) throws IOException{
+		RandomAccessFile file = new RandomAccessFile(source, "r");
+		try{
+			FileChannel channel = file.getChannel();
+			long size = channel.size();
+			if(size > Integer.MAX_VALUE)
+				throw new IOException(source + " is too large to map (over 2 GB)");
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}finally{
+			file.close();
+		}
+	}
+
+	//Reads everything from the stream into a buffer
+	private static ByteBuffer readFully(InputStream in) throws IOException{
+		byte[] bytes = new byte[1 << 16];
+		int length = 0;
+		int read;
+
+		while((read = in.read(bytes, length, bytes.length - length)) != -1){
+			length += read;
+			if(length == bytes.length)
+				bytes = Arrays.copyOf(bytes, bytes.length * 2);
+		}
+		return ByteBuffer.wrap(bytes, 0, length);
+	}
+	//*********************************************************************************************
+	// End Helper Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End Lexer Class
+//*************************************************************************************************
@@ -0,0 +1,114 @@
+
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+//*************************************************************************************************
+// Begin LexerBenchmark Class
+//	Measures how fast the Lexer turns source into tokens. The source is read into memory once
+//	and then scanned repeatedly; the first few passes warm up the JIT and are not counted. The
+//	median, minimum and maximum throughput of the timed passes are printed in MB/s.
+//
+//	Usage: java LexerBenchmark <source file> [timed passes]
+//
+//*************************************************************************************************
+public class LexerBenchmark {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// WARMUP_PASSES	int				Passes run before timing starts
+	// DEFAULT_PASSES	int				Timed passes if none are given
+	//
+	//*********************************************************************************************
+	private static final int WARMUP_PASSES = 5;
+	private static final int DEFAULT_PASSES = 15;
+
+
+	//*********************************************************************************************
+	// Begin Main Method
+	//
+	// Variables		Type			Description
+	// ---------		----------		-------------------------------------------
+	// source			ByteBuffer		The source file's contents
+	// rates			double[]		Throughput of each timed pass (MB/s)
+	// tokens			long			Number of tokens in the source
+	//
+	//*********************************************************************************************
+	public static void main(String[] args) throws IOException{
+		if(args.length < 1){
+			System.err.println("Usage: java LexerBenchmark <source file> [timed passes]");
+			System.exit(2);
+		}
+
+		ByteBuffer source = readFile(new File(args[0]));
+		int passes = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PASSES;
+		double[] rates = new double[passes];
+		long tokens = 0;
+
+		for(int i = -WARMUP_PASSES; i < passes; i++){
+			long start = System.nanoTime();
+			tokens = countTokens(source.duplicate());
+			long elapsed = System.nanoTime() - start;
+
+			if(i >= 0)
+				rates[i] = source.remaining() / (elapsed / 1e9) / 1e6;
+		}
+
+		Arrays.sort(rates);
+		System.out.println(String.format("%s: %d bytes, %d tokens", args[0], source.remaining(), tokens));
+		System.out.println(String.format("median %.1f MB/s (min %.1f, max %.1f) over %d passes",
+				rates[passes / 2], rates[0], rates[passes - 1], passes));
+	}
+	//*********************************************************************************************
+	// End Main Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Count Tokens Method
+	//		Scans the whole source and returns the number of tokens before EOF
+	//
+	//*********************************************************************************************
+	private static long countTokens(ByteBuffer source){
+		Lexer lexer = new Lexer(source);
+		long count = 0;
+		while(lexer.getNextToken().kind != ParserConstants.EOF)
+			count++;
+		return count;
+	}
+	//*********************************************************************************************
+	// End Count Tokens Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Read File Method
+	//		Reads the whole file into memory
+	//
+	//*********************************************************************************************
+	private static ByteBuffer readFile(File file) throws IOException{
+		byte[] bytes = new byte[(int)file.length()];
+		InputStream in = new FileInputStream(file);
+		try{
+			int length = 0, read;
+			while(length < bytes.length && (read = in.read(bytes, length, bytes.length - length)) != -1)
+				length += read;
+		}finally{
+			in.close();
+		}
+		return ByteBuffer.wrap(bytes);
+	}
+	//*********************************************************************************************
+	// End Read File Method
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End LexerBenchmark Class
+//*************************************************************************************************
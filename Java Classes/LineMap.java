@@ -0,0 +1,103 @@
+
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+//*************************************************************************************************
+// Begin LineMap Class
+//	This class records where each line of a source begins so that a byte offset can be turned
+//	into a line and column when one is needed. The lexer only adds an entry at each line break;
+//	line and column numbers are worked out with a binary search, which only happens when an
+//	error is reported. Lines and columns start at 1, and a tab moves on to the next multiple
+//	of 8 columns, as JavaCC's SimpleCharStream counted them.
+//
+//*************************************************************************************************
+public class LineMap {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// TAB_SIZE			int				The columns a tab stop is a multiple of
+	// input			ByteBuffer		The source the offsets are in
+	// lineStarts		int[]			The offset of the first byte of each line, in order
+	// lineCount		int				The number of lines recorded so far
+	//
+	//*********************************************************************************************
+	private static final int TAB_SIZE = 8;
+	private ByteBuffer input;
+	private int[] lineStarts = new int[256];
+	private int lineCount = 0;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		The first line of the source begins at the given offset
+	//
+	//*********************************************************************************************
+	public LineMap(ByteBuffer input, int firstLineStart){
+		this.input = input;
+		addLine(firstLineStart);
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Add Line Method
+	//		Records that a new line begins at the given offset. Offsets must be added in
+	//		increasing order.
+	//
+	//*********************************************************************************************
+	public void addLine(int offset){
+		if(lineCount == lineStarts.length)
+			lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+		lineStarts[lineCount++] = offset;
+	}
+	//*********************************************************************************************
+	// End Add Line Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Line/Column Methods
+	//		Return the line and column of the byte at the given offset. The column is counted
+	//		from the start of the line, expanding the tabs before it.
+	//
+	//*********************************************************************************************
+	public int lineOf(int offset){
+		return lineIndex(offset) + 1;
+	}
+
+	public int columnOf(int offset){
+		int column = 0;
+		for(int i = lineStarts[lineIndex(offset)]; i <= offset; i++){
+			if(i < input.limit() && input.get(i) == '\t')
+				column += TAB_SIZE - column % TAB_SIZE;
+			else
+				column++;
+		}
+		return column;
+	}
+
+	//Index of the last line that starts at or before the offset
+	private int lineIndex(int offset){
+		int low = 0, high = lineCount - 1;
+		while(low < high){
+			int mid = (low + high + 1) >>> 1;
+			if(lineStarts[mid] <= offset)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low;
+	}
+	//*********************************************************************************************
+	// End Line/Column Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End LineMap Class
+//*************************************************************************************************
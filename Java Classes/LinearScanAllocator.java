@@ -0,0 +1,364 @@
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+//*************************************************************************************************
+// Begin LinearScanAllocator Class
+//	This class gives programmer-defined variables home registers that they keep across basic
+//	blocks, so that the variables of a loop stay in registers for the whole loop instead of being
+//	stored at the end of each block and loaded again at the start of the next.
+//
+//	Each variable's live interval is the run of blocks, in program order, from the first block
+//	it is live in or mentioned in to the last. Outside of its interval a variable is never live,
+//	so a variable with a home register keeps its value only in that register: it is never
+//	stored, and it is only loaded (once, at the start of the program) if the program reads it
+//	before assigning it. Any edge into the middle of an interval comes from a block in the
+//	interval (the variable is live on it) or carries the variable dead, so no code is needed on
+//	the edges.
+//
+//	The intervals are handed out by linear scan (Poletto and Sarkar): in order of their starts,
+//	each interval takes a free register if there is one. If not, the interval with the lowest
+//	spill cost among it and the ones holding registers goes without. A variable's spill cost is
+//	its number of uses and assignments, each weighted by 10 to the power of its loop depth, so
+//	loop variables are the last to go. A loop is a jump back to an earlier block, and its body
+//	is taken to be the blocks from the target of the jump to the jump, which is what the
+//	language's loops compile to.
+//
+//	There are two classes of register. Any variable can go in a data register, but address
+//	registers only take part in moves, compares, adds and subtracts, so a variable can only go
+//	in one if it is never the second operand of a multiply, divide, and or or, nor tested by a
+//	conditional jump. Those variables take an address register when one is free, leaving the
+//	data registers to the rest. When a variable needs a data register and none is free, one
+//	holding a data register moves to a free address register to make room for it, but only
+//	if no other variable has been given that address register over any of the moved
+//	variable's blocks (a home register is kept for the whole interval, so the one it moves to
+//	must be free for all of it, not just from here on).
+//
+//*************************************************************************************************
+public class LinearScanAllocator {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// homes			int[]			The home register of each symbol table slot, or
+	//									RegisterFile.NONE
+	// isAddress		boolean[]		Is each register number an address register?
+	// intervals		ArrayList		The live interval of each variable that is live or
+	//					<Interval>		mentioned anywhere, by start
+	//
+	//*********************************************************************************************
+	private int[] homes;
+	private boolean[] isAddress;
+	private ArrayList<Interval> intervals = new ArrayList<Interval>();
+
+
+	//*********************************************************************************************
+	// Begin Interval Class
+	//		The live interval of a variable: its first and last blocks (inclusive), its spill
+	//		cost, whether it can go in an address register, and the register it was given
+	//
+	//*********************************************************************************************
+	private static class Interval {
+		int operand;
+		int start = -1;
+		int end = -1;
+		double cost = 0;
+		boolean addressOk = true;
+		int register = RegisterFile.NONE;
+
+		Interval(int operand){
+			this.operand = operand;
+		}
+
+		//Extends the interval to the block (blocks are covered in order)
+		void cover(int block){
+			if(start == -1)
+				start = block;
+			end = block;
+		}
+	}
+	//*********************************************************************************************
+	// End Interval Class
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Builds the live intervals and gives out the given data and address registers (by
+	//		number)
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// byVariable		Interval[]		The interval of each symbol table slot (null for
+	//									slots that aren't variables)
+	// weights			double[]		The weight of a use in each block (10^loop depth)
+	//
+	//*********************************************************************************************
+	public LinearScanAllocator(ControlFlowGraph cfg, QuadBuffer quads, SymbolTable symbolTable,
+			LiveVariables liveVariables, int[] dataRegisters, int[] addressRegisters){
+		Interval[] byVariable = new Interval[symbolTable.size()];
+		double[] weights = loopWeights(cfg);
+		ArrayList<Interval> variables = new ArrayList<Interval>();
+		QuadOp op;
+
+		homes = new int[symbolTable.size()];
+		Arrays.fill(homes, RegisterFile.NONE);
+
+		for(SymbolTableEntry entry : symbolTable){
+			if(entry.getKind() == Operand.VARIABLE){
+				byVariable[entry.getSlot()] = new Interval(entry.getOperand());
+				variables.add(byVariable[entry.getSlot()]);
+			}
+		}
+
+		//A variable's interval covers each block it is live in or mentioned in, and each
+		//mention adds to its cost
+		for(BasicBlock block : cfg.getBlocks()){
+			for(Interval interval : variables)
+				if(liveVariables.isLiveIn(block, interval.operand)
+						|| liveVariables.isLiveOut(block, interval.operand))
+					interval.cover(block.getIndex());
+
+			for(int q = block.getStart(); q <= block.getEnd(); q++){
+				op = quads.getOperation(q);
+				mention(byVariable, quads.getArg1(q), block, weights);
+				mention(byVariable, quads.getArg2(q), block, weights);
+				if(!op.isBranch())
+					mention(byVariable, quads.getResult(q), block, weights);
+				
+				//Only data registers can be tested, or be the source of these operations
+				if(op == QuadOp.JEQZ)
+					needsDataRegister(byVariable, quads.getArg1(q));
+				if(op == QuadOp.MUL || op == QuadOp.DIV || op == QuadOp.AND || op == QuadOp.OR)
+					needsDataRegister(byVariable, quads.getArg2(q));
+			}
+		}
+
+		//Intervals are covered block by block, so the ones starting earliest come first
+		for(int b = 0; b < cfg.getBlocks().size(); b++)
+			for(Interval interval : variables)
+				if(interval.start == b)
+					intervals.add(interval);
+
+		scan(dataRegisters, addressRegisters);
+		for(Interval interval : intervals)
+			homes[Operand.slot(interval.operand)] = interval.register;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Mention Method
+	//		Records that the operand is used or assigned in the block, if it is a variable
+	//
+	//*********************************************************************************************
+	private static void mention(Interval[] byVariable, int operand, BasicBlock block, double[] weights){
+		Interval interval;
+		if(!Operand.isVariable(operand))
+			return;
+
+		interval = byVariable[Operand.slot(operand)];
+		interval.cover(block.getIndex());
+		interval.cost += weights[block.getIndex()];
+	}
+	//*********************************************************************************************
+	// End Mention Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Needs Data Register Method
+	//		Records that the operand can't go in an address register, if it is a variable
+	//
+	//*********************************************************************************************
+	private static void needsDataRegister(Interval[] byVariable, int operand){
+		if(Operand.isVariable(operand))
+			byVariable[Operand.slot(operand)].addressOk = false;
+	}
+	//*********************************************************************************************
+	// End Needs Data Register Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Loop Weights Method
+	//		Returns 10^loop depth for each block. Every edge to the same or an earlier block
+	//		closes a loop over the blocks between its ends; the depths are summed with a
+	//		difference array.
+	//
+	//*********************************************************************************************
+	private static double[] loopWeights(ControlFlowGraph cfg){
+		List<BasicBlock> blocks = cfg.getBlocks();
+		int[] change = new int[blocks.size() + 1];
+		double[] weights = new double[blocks.size()];
+		int depth = 0;
+
+		for(BasicBlock block : blocks){
+			for(BasicBlock successor : block.getSuccessors()){
+				if(successor.getIndex() <= block.getIndex()){
+					change[successor.getIndex()]++;
+					change[block.getIndex() + 1]--;
+				}
+			}
+		}
+
+		for(int b = 0; b < blocks.size(); b++){
+			depth += change[b];
+			weights[b] = Math.pow(10, Math.min(depth, 8));
+		}
+		return weights;
+	}
+	//*********************************************************************************************
+	// End Loop Weights Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Scan Method
+	//		Gives out the registers to the intervals in order of their starts
+	//
+	// Variables		Type				Description
+	// ---------		----------------	-------------------------------------------
+	// active			ArrayList<Interval>	The intervals holding a register
+	// free				boolean[]			Is each register free (by number)?
+	// cheapest			Interval			The interval that goes without a register
+	//
+	//*********************************************************************************************
+	private void scan(int[] dataRegisters, int[] addressRegisters){
+		ArrayList<Interval> active = new ArrayList<Interval>();
+		boolean[] free;
+		Interval cheapest;
+		int register;
+		int size = 0;
+
+		for(int r : dataRegisters)
+			size = Math.max(size, r + 1);
+		for(int r : addressRegisters)
+			size = Math.max(size, r + 1);
+		free = new boolean[size];
+		isAddress = new boolean[size];
+		for(int r : dataRegisters)
+			free[r] = true;
+		for(int r : addressRegisters){
+			free[r] = true;
+			isAddress[r] = true;
+		}
+
+		for(Interval interval : intervals){
+			//Free the registers of the intervals that ended before this one starts
+			for(int i = active.size() - 1; i >= 0; i--){
+				if(active.get(i).end < interval.start){
+					free[active.get(i).register] = true;
+					active.remove(i);
+				}
+			}
+
+			//Take a free register, an address register if the variable can go in one
+			register = interval.addressOk ? firstFree(addressRegisters, free) : RegisterFile.NONE;
+			if(register == RegisterFile.NONE)
+				register = firstFree(dataRegisters, free);
+			if(register == RegisterFile.NONE)
+				register = freeDataRegister(active, free, addressRegisters);
+
+			if(register != RegisterFile.NONE){
+				free[register] = false;
+				interval.register = register;
+				active.add(interval);
+				continue;
+			}
+
+			//Every register it can use is taken; the cheapest interval goes without (the one
+			//ending last, between equals)
+			cheapest = interval;
+			for(Interval other : active)
+				if((interval.addressOk || !isAddress[other.register]) && (other.cost < cheapest.cost
+						|| (other.cost == cheapest.cost && other.end > cheapest.end)))
+					cheapest = other;
+			if(cheapest != interval){
+				interval.register = cheapest.register;
+				cheapest.register = RegisterFile.NONE;
+				active.remove(cheapest);
+				active.add(interval);
+			}
+		}
+	}
+	//*********************************************************************************************
+	// End Scan Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin First Free Method
+	//		Returns the first free register of the given ones, or RegisterFile.NONE
+	//
+	//*********************************************************************************************
+	private static int firstFree(int[] registers, boolean[] free){
+		for(int r : registers)
+			if(free[r])
+				return r;
+		return RegisterFile.NONE;
+	}
+	//*********************************************************************************************
+	// End First Free Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Free Data Register Method
+	//		Moves an active interval that could be in an address register out of its data
+	//		register and into a free address register that no interval has over its blocks,
+	//		and returns the data register, or RegisterFile.NONE if no interval can move
+	//
+	//*********************************************************************************************
+	private int freeDataRegister(ArrayList<Interval> active, boolean[] free, int[] addressRegisters){
+		int from;
+		for(Interval other : active){
+			if(!other.addressOk || isAddress[other.register])
+				continue;
+			for(int to : addressRegisters){
+				if(free[to] && isFreeOver(to, other.start, other.end)){
+					from = other.register;
+					other.register = to;
+					free[to] = false;
+					return from;
+				}
+			}
+		}
+		return RegisterFile.NONE;
+	}
+
+	//Is the register given to no interval over any of the blocks from start to end? (The
+	//intervals not yet scanned have no register.)
+	private boolean isFreeOver(int register, int start, int end){
+		for(Interval interval : intervals)
+			if(interval.register == register && interval.start <= end && interval.end >= start)
+				return false;
+		return true;
+	}
+	//*********************************************************************************************
+	// End Free Data Register Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Methods
+	//*********************************************************************************************
+	//Returns the home register of the operand, or RegisterFile.NONE if it has none
+	public int getHome(int operand){
+		if(!Operand.isVariable(operand))
+			return RegisterFile.NONE;
+		return homes[Operand.slot(operand)];
+	}
+	//*********************************************************************************************
+	// End Get Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End LinearScanAllocator Class
+//*************************************************************************************************
@@ -0,0 +1,212 @@
+
+
+import java.util.BitSet;
+import java.util.List;
+//*************************************************************************************************
+// Begin LiveVariables Class
+//	This class finds which programmer-defined variables are live (may be read before they are
+//	next assigned) on entry to and exit from each basic block of a program. It is the usual
+//	iterative dataflow analysis: for each block
+//
+//		liveOut = the union of liveIn over the block's successors
+//		liveIn  = use + (liveOut - def)
+//
+//	where use holds the variables the block reads before assigning them and def those it
+//	assigns. The blocks are visited in postorder, so each is usually visited after its
+//	successors, and the passes are repeated until nothing changes. Nothing is live when the
+//	program ends.
+//
+//	The sets are bit vectors indexed by a variable number given to each variable in the symbol
+//	table. Temporaries are never live across a block boundary (the parser only uses one within
+//	the statement that computed it), so they are left out, which keeps the vectors as small as
+//	the number of variables.
+//
+//*************************************************************************************************
+public class LiveVariables {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// variableNumbers	int[]			The variable number of each symbol table slot, or -1
+	//									for slots that aren't variables
+	// variableCount	int				The number of variables
+	// liveIn			BitSet[]		The variables live on entry to each block
+	// liveOut			BitSet[]		The variables live on exit from each block
+	//
+	//*********************************************************************************************
+	private int[] variableNumbers;
+	private int variableCount;
+	private BitSet[] liveIn;
+	private BitSet[] liveOut;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Runs the analysis over the given graph
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// use				BitSet[]		The variables each block reads before assigning
+	// def				BitSet[]		The variables each block assigns
+	// order			BasicBlock[]	The order blocks are visited in: postorder, followed
+	//									by any blocks that can't be reached
+	// scratch			BitSet			Where a block's new sets are computed
+	// changed			boolean			Did any set change on this pass?
+	//
+	//*********************************************************************************************
+	public LiveVariables(ControlFlowGraph cfg, QuadBuffer quads, SymbolTable symbolTable){
+		List<BasicBlock> blocks = cfg.getBlocks();
+		BitSet[] use = new BitSet[blocks.size()];
+		BitSet[] def = new BitSet[blocks.size()];
+		BasicBlock[] order = visitOrder(cfg);
+		BitSet scratch;
+		boolean changed;
+		int b;
+
+		numberVariables(symbolTable);
+		scratch = new BitSet(variableCount);
+		liveIn = new BitSet[blocks.size()];
+		liveOut = new BitSet[blocks.size()];
+
+		for(BasicBlock block : blocks){
+			b = block.getIndex();
+			use[b] = new BitSet(variableCount);
+			def[b] = new BitSet(variableCount);
+			liveIn[b] = new BitSet(variableCount);
+			liveOut[b] = new BitSet(variableCount);
+			findUsesAndDefs(block, quads, use[b], def[b]);
+		}
+
+		do{
+			changed = false;
+			for(BasicBlock block : order){
+				b = block.getIndex();
+
+				scratch.clear();
+				for(BasicBlock successor : block.getSuccessors())
+					scratch.or(liveIn[successor.getIndex()]);
+				if(!scratch.equals(liveOut[b])){
+					liveOut[b].or(scratch);
+					changed = true;
+				}
+
+				scratch.andNot(def[b]);
+				scratch.or(use[b]);
+				if(!scratch.equals(liveIn[b])){
+					liveIn[b].or(scratch);
+					changed = true;
+				}
+			}
+		}while(changed);
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Number Variables Method
+	//		Gives each variable in the symbol table a number, counting from 0
+	//
+	//*********************************************************************************************
+	private void numberVariables(SymbolTable symbolTable){
+		variableNumbers = new int[symbolTable.size()];
+		variableCount = 0;
+		for(SymbolTableEntry entry : symbolTable){
+			if(entry.getKind() == Operand.VARIABLE)
+				variableNumbers[entry.getSlot()] = variableCount++;
+			else
+				variableNumbers[entry.getSlot()] = -1;
+		}
+	}
+	//*********************************************************************************************
+	// End Number Variables Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Visit Order Method
+	//		Returns the blocks in postorder, followed by the blocks the entry can't reach
+	//
+	//*********************************************************************************************
+	private static BasicBlock[] visitOrder(ControlFlowGraph cfg){
+		List<BasicBlock> reversePostorder = cfg.getReversePostorder();
+		BasicBlock[] order = new BasicBlock[cfg.getBlocks().size()];
+		boolean[] placed = new boolean[order.length];
+		int count = 0;
+
+		for(int i = reversePostorder.size() - 1; i >= 0; i--){
+			order[count++] = reversePostorder.get(i);
+			placed[reversePostorder.get(i).getIndex()] = true;
+		}
+		for(BasicBlock block : cfg.getBlocks())
+			if(!placed[block.getIndex()])
+				order[count++] = block;
+		return order;
+	}
+	//*********************************************************************************************
+	// End Visit Order Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Find Uses And Defs Method
+	//		Fills in the variables the block reads before assigning (use) and assigns (def).
+	//		A quad reads its operands before it assigns its result.
+	//
+	//*********************************************************************************************
+	private void findUsesAndDefs(BasicBlock block, QuadBuffer quads, BitSet use, BitSet def){
+		int v;
+		for(int q = block.getStart(); q <= block.getEnd(); q++){
+			if((v = number(quads.getArg1(q))) != -1 && !def.get(v))
+				use.set(v);
+			if((v = number(quads.getArg2(q))) != -1 && !def.get(v))
+				use.set(v);
+			if(!quads.getOperation(q).isBranch() && (v = number(quads.getResult(q))) != -1)
+				def.set(v);
+		}
+	}
+	//*********************************************************************************************
+	// End Find Uses And Defs Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Number Method
+	//		Returns the variable number of an operand, or -1 if it isn't a variable
+	//
+	//*********************************************************************************************
+	private int number(int operand){
+		if(!Operand.isVariable(operand))
+			return -1;
+		return variableNumbers[Operand.slot(operand)];
+	}
+	//*********************************************************************************************
+	// End Number Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Query Methods
+	//		Is the operand live on entry to (or exit from) the block? Only variables ever are.
+	//
+	//*********************************************************************************************
+	public boolean isLiveIn(BasicBlock block, int operand){
+		int v = number(operand);
+		return v != -1 && liveIn[block.getIndex()].get(v);
+	}
+
+	public boolean isLiveOut(BasicBlock block, int operand){
+		int v = number(operand);
+		return v != -1 && liveOut[block.getIndex()].get(v);
+	}
+	//*********************************************************************************************
+	// End Query Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End LiveVariables Class
+//*************************************************************************************************
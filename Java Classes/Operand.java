@@ -0,0 +1,107 @@
+
+
+//*************************************************************************************************
+// Begin Operand Class
+//	Quads refer to their operands by int handles rather than by name. Every variable, temporary,
+//	constant and string literal is entered in the symbol table once, and its handle packs the
+//	kind of operand into the top bits with the entry's symbol table slot below them. Deciding
+//	what an operand is, or whether two operands are the same, is then an integer comparison.
+//
+//	NONE (-1) marks an unused operand field. Jump quads keep their target quad number in the
+//	result field instead of a handle.
+//
+//*************************************************************************************************
+public final class Operand {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// NONE				int				The handle of a missing operand
+	// VARIABLE			int				Kind: a programmer-defined variable (e.g. "COUNT")
+	// TEMPORARY		int				Kind: a temporary made by the parser (e.g. "$3")
+	// CONSTANT			int				Kind: an integer constant (e.g. "10")
+	// STRING			int				Kind: a string literal, with its quotes (e.g. "\"Hi\"")
+	// KIND_SHIFT		int				Where the kind starts in a handle
+	// SLOT_MASK		int				Selects the symbol table slot from a handle
+	// KIND_PREFIXES	String[]		Short name of each kind, used by toString
+	//
+	//*********************************************************************************************
+	public static final int NONE = -1;
+	public static final int VARIABLE = 0;
+	public static final int TEMPORARY = 1;
+	public static final int CONSTANT = 2;
+	public static final int STRING = 3;
+
+	private static final int KIND_SHIFT = 28;
+	private static final int SLOT_MASK = (1 << KIND_SHIFT) - 1;
+	private static final String[] KIND_PREFIXES = { "v", "t", "c", "s" };
+
+
+	private Operand(){
+	}
+
+
+	//*********************************************************************************************
+	// Begin Handle Methods
+	//		Build a handle from a kind and a slot, and take one apart again
+	//
+	//*********************************************************************************************
+	public static int make(int kind, int slot){
+		return (kind << KIND_SHIFT) | slot;
+	}
+
+	public static int kind(int operand){
+		return operand >>> KIND_SHIFT;
+	}
+
+	public static int slot(int operand){
+		return operand & SLOT_MASK;
+	}
+	//*********************************************************************************************
+	// End Handle Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Kind Test Methods
+	//*********************************************************************************************
+	public static boolean isVariable(int operand){
+		return operand != NONE && kind(operand) == VARIABLE;
+	}
+
+	public static boolean isTemporary(int operand){
+		return operand != NONE && kind(operand) == TEMPORARY;
+	}
+
+	public static boolean isConstant(int operand){
+		return operand != NONE && kind(operand) == CONSTANT;
+	}
+
+	public static boolean isString(int operand){
+		return operand != NONE && kind(operand) == STRING;
+	}
+	//*********************************************************************************************
+	// End Kind Test Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin toString Method
+	//		Describes a handle without the symbol table (e.g. "v3" for the variable in slot 3)
+	//
+	//*********************************************************************************************
+	public static String toString(int operand){
+		if(operand == NONE)
+			return " ";
+		return KIND_PREFIXES[kind(operand)] + slot(operand);
+	}
+	//*********************************************************************************************
+	// End toString Method
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End Operand Class
+//*************************************************************************************************
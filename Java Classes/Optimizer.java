@@ -0,0 +1,105 @@
+
+
+import java.util.ArrayList;
+//*************************************************************************************************
+// Begin Optimizer Class
+//	This class runs the optimizations on the quads, between the parser and the code generator,
+//	in the order each one leaves work for the next:
+//
+//		ConstantFolder			folds constant expressions and propagates constants
+//		ValueNumbering			removes common subexpressions within blocks
+//		CopyPropagation			computes expressions straight into the variables they are
+//								assigned to, and propagates the copies left
+//		DeadCodeEliminator		removes the quads whose results are never used
+//
+//	The passes turn the quads they remove into NOPs; once they have all run, the NOPs are
+//	removed from the quads and the jumps renumbered. How many quads each pass changed is
+//	reported at the end of the listing, as comments.
+//
+//*************************************************************************************************
+public class Optimizer {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// quads			QuadBuffer		The quads to optimize
+	// symbolTable		SymbolTable		The symbol table
+	// folded			int				How many quads constant folding changed
+	// subexpressions	int				How many common subexpressions were removed
+	// copies			int				How many quads copy propagation changed or removed
+	// deadQuads		int				How many quads with unused results were removed
+	// removed			int				How many quads were removed in all
+	//
+	//*********************************************************************************************
+	private QuadBuffer quads;
+	private SymbolTable symbolTable;
+	private int folded;
+	private int subexpressions;
+	private int copies;
+	private int deadQuads;
+	private int removed;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables
+	//
+	//*********************************************************************************************
+	public Optimizer(QuadBuffer quads, SymbolTable symbolTable){
+		this.quads = quads;
+		this.symbolTable = symbolTable;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Run Method
+	//		Runs the passes and removes the NOPs they leave. Returns the number of quads
+	//		removed.
+	//
+	//*********************************************************************************************
+	public int run(){
+		folded = new ConstantFolder(quads, symbolTable).run();
+		subexpressions = new ValueNumbering(quads, symbolTable).run();
+		copies = new CopyPropagation(quads, symbolTable).run();
+		deadQuads = new DeadCodeEliminator(quads, symbolTable).run();
+		removed = quads.removeNops();
+		return removed;
+	}
+	//*********************************************************************************************
+	// End Run Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Report Method
+	//		Returns a line for each pass that changed the quads, with how many it changed,
+	//		and one for the quads removed in all
+	//
+	//*********************************************************************************************
+	public ArrayList<String> report(){
+		ArrayList<String> lines = new ArrayList<String>();
+		addLine(lines, "ConstantFolder", folded, "Quads folded or given constant operands");
+		addLine(lines, "ValueNumbering", subexpressions, "Common subexpressions removed");
+		addLine(lines, "CopyPropagation", copies, "Quads renamed, propagated into or removed");
+		addLine(lines, "DeadCodeEliminator", deadQuads, "Quads with unused results removed");
+		addLine(lines, "Removed", removed, "Quads removed in all");
+		return lines;
+	}
+
+	private static void addLine(ArrayList<String> lines, String pass, int count, String description){
+		if(count > 0)
+			lines.add(String.format("%-20s %6d  %s", pass, count, description));
+	}
+	//*********************************************************************************************
+	// End Report Method
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End Optimizer Class
+//*************************************************************************************************
@@ -0,0 +1,883 @@
+import java.util.ArrayList;
+import java.util.EnumSet;
+//*************************************************************************************************
+// Begin PeepholeOptimizer Class
+//	This class cleans up the code section once all of the code has been generated, and before
+//	the jumps are relaxed. The code is generated a quad at a time, so it is full of sequences
+//	that are only wasteful next to each other: a value stored and loaded straight back, a TST of
+//	a value that has just set the flags, a jump to a jump, a branch over a jump. Each rule in
+//	the Rule table matches a short window of instructions starting at one instruction and
+//	deletes or replaces it:
+//
+//		MOVE.L D1,X							MOVE.L D1,X
+//		MOVE.L X,D1			becomes			(deleted)
+//
+//	The rules are tried at every instruction in turn, and the whole code is gone over again
+//	until a pass changes nothing, since one rewrite often makes another possible (a threaded
+//	jump can leave the instructions after it unreachable). Which rules are used can be chosen
+//	when the optimizer is made.
+//
+//	A window never runs into an instruction that is the target of a jump, as that instruction
+//	can be reached with other values in the registers. Rules that delete a write to a register
+//	use the registers live after each instruction, found by the usual backward dataflow
+//	analysis over the code (the trap that puts a string reads A0, and the others read D0).
+//	Rules that delete or replace an instruction that sets the condition codes check that
+//	nothing reads them before they are set again.
+//
+//	Labels are indexes into the code, so deleted instructions are only marked during a pass;
+//	the code is compacted at the end of the pass and every label moved to the instruction that
+//	ends up at its old target (or after it, if that instruction was deleted).
+//
+//	The optimizer counts how many times each rule was applied and estimates the cycles it
+//	saved, from the 68000's instruction timings (a branch is counted as taken).
+//
+//*************************************************************************************************
+public class PeepholeOptimizer {
+
+	//*********************************************************************************************
+	// Begin Rule Enumeration
+	//		The rewrites, in the order they are tried at each instruction
+	//*********************************************************************************************
+	public enum Rule{
+		SELF_MOVE			("Move of a register to itself deleted"),
+		STORE_RELOAD		("Move back of a value just moved deleted"),
+		COMPARE_ZERO		("CMPI #0 replaced by TST"),
+		REDUNDANT_TEST		("TST of a value that just set the flags deleted"),
+		KNOWN_BRANCH		("Branch on a constant just loaded decided"),
+		KNOWN_TEST			("Jump to a test of a constant just loaded threaded"),
+		JUMP_CHAIN			("Jump to a jump threaded"),
+		BRANCH_OVER_JUMP	("Branch over a jump inverted"),
+		JUMP_TO_NEXT		("Jump to the next instruction deleted"),
+		UNREACHABLE			("Unreachable instruction deleted"),
+		DEAD_WRITE			("Write to a dead register deleted"),
+		ADDRESS_ARITHMETIC	("Add to an address register through a data register folded"),
+		ADDRESS_COMPARE		("Compare of an address register through a data register folded");
+
+		private final String description;
+
+		Rule(String description){
+			this.description = description;
+		}
+
+		public String getDescription(){
+			return description;
+		}
+	}
+	//*********************************************************************************************
+	// End Rule Enumeration
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type					Description
+	// ---------		--------------------	-------------------------------------------
+	// code				ArrayList<Instruction>	The code section
+	// rules			EnumSet<Rule>			The rules to apply
+	// removed			boolean[]				Has each instruction been deleted on this pass?
+	// targetCount		int[]					How many jumps target each instruction
+	// liveOut			int[]					The registers live after each instruction, one
+	//											bit per register (numbered as in the code
+	//											generator)
+	// counts			int[]					How many times each rule was applied
+	// cyclesSaved		long[]					The cycles each rule saved
+	//
+	//*********************************************************************************************
+	private ArrayList<Instruction> code;
+	private EnumSet<Rule> rules;
+	private boolean[] removed;
+	private int[] targetCount;
+	private int[] liveOut;
+	private int[] counts = new int[Rule.values().length];
+	private long[] cyclesSaved = new long[Rule.values().length];
+
+
+	//*********************************************************************************************
+	// Begin Constructors
+	//		Initializes class variables. Every rule is used unless the rules are given.
+	//
+	//*********************************************************************************************
+	public PeepholeOptimizer(ArrayList<Instruction> code){
+		this(code, EnumSet.allOf(Rule.class));
+	}
+
+	public PeepholeOptimizer(ArrayList<Instruction> code, EnumSet<Rule> rules){
+		this.code = code;
+		this.rules = rules;
+	}
+	//*********************************************************************************************
+	// End Constructors
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Parse Rules Method
+	//		Returns the rules named in a comma separated list, as given on the command line
+	//		("all" for every rule, "none" for none). An unknown name throws an
+	//		IllegalArgumentException.
+	//
+	//*********************************************************************************************
+	public static EnumSet<Rule> parseRules(String names){
+		EnumSet<Rule> rules = EnumSet.noneOf(Rule.class);
+		for(String name : names.split(",")){
+			name = name.trim().toUpperCase();
+			if(name.equals("ALL"))
+				rules.addAll(EnumSet.allOf(Rule.class));
+			else if(!name.isEmpty() && !name.equals("NONE"))
+				rules.add(Rule.valueOf(name));
+		}
+		return rules;
+	}
+	//*********************************************************************************************
+	// End Parse Rules Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Optimize Method
+	//		Applies the rules until a pass over the code changes nothing
+	//
+	//*********************************************************************************************
+	public void optimize(){
+		boolean changed;
+
+		do{
+			changed = false;
+			removed = new boolean[code.size()];
+			findTargets();
+			findLiveRegisters();
+
+			for(int i = 0; i < code.size(); i++){
+				for(Rule rule : rules){
+					if(removed[i])
+						break;
+					changed |= apply(rule, i);
+				}
+			}
+			compact();
+		}while(changed);
+	}
+	//*********************************************************************************************
+	// End Optimize Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Apply Method
+	//		Tries one rule at the given instruction. Returns true if it was applied.
+	//
+	//*********************************************************************************************
+	private boolean apply(Rule rule, int i){
+		switch(rule){
+			case SELF_MOVE:				return selfMove(i);
+			case STORE_RELOAD:			return storeReload(i);
+			case COMPARE_ZERO:			return compareZero(i);
+			case REDUNDANT_TEST:		return redundantTest(i);
+			case KNOWN_BRANCH:			return knownBranch(i);
+			case KNOWN_TEST:			return knownTest(i);
+			case JUMP_CHAIN:			return jumpChain(i);
+			case BRANCH_OVER_JUMP:		return branchOverJump(i);
+			case JUMP_TO_NEXT:			return jumpToNext(i);
+			case UNREACHABLE:			return unreachable(i);
+			case DEAD_WRITE:			return deadWrite(i);
+			case ADDRESS_ARITHMETIC:	return addressArithmetic(i);
+			case ADDRESS_COMPARE:		return addressCompare(i);
+			default:					return false;
+		}
+	}
+	//*********************************************************************************************
+	// End Apply Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Rule Methods
+	//		Each matches its window starting at instruction i and rewrites it, returning true,
+	//		or returns false and leaves the code alone
+	//
+	//*********************************************************************************************
+	//MOVE Rn,Rn
+	private boolean selfMove(int i){
+		Instruction move = code.get(i);
+		if(!isMove(move) || !move.getSource().isRegister() || !move.getSource().isSame(move.getDestination()))
+			return false;
+		if(setsFlags(move) && flagsNeeded(i))
+			return false;
+
+		remove(i);
+		record(Rule.SELF_MOVE, cycles(move));
+		return true;
+	}
+
+	//MOVE X,Y followed by MOVE Y,X: the second move changes nothing
+	private boolean storeReload(int i){
+		Instruction first = code.get(i);
+		int j = next(i);
+		Instruction second;
+
+		if(!isMove(first) || j == -1 || isTarget(j))
+			return false;
+		second = code.get(j);
+		if(!isMove(second) || !second.getSource().isSame(first.getDestination())
+				|| !second.getDestination().isSame(first.getSource()))
+			return false;
+
+		//Both moves set the flags from the same value, but the first might not set them at all
+		if(setsFlags(second) && !setsFlags(first) && flagsNeeded(j))
+			return false;
+
+		remove(j);
+		record(Rule.STORE_RELOAD, cycles(second));
+		return true;
+	}
+
+	//CMPI.L #0,Dn sets the flags just as TST.L Dn does
+	private boolean compareZero(int i){
+		Instruction compare = code.get(i);
+		int before;
+
+		if(compare.getOpcode() != Instruction.Opcode.CMPI || compare.getSource().getValue() != 0
+				|| !compare.getDestination().isDataRegister())
+			return false;
+
+		before = cycles(compare);
+		compare.setOpcode(Instruction.Opcode.TST);
+		compare.setSize(Instruction.Size.L);
+		compare.setSource(null);
+		record(Rule.COMPARE_ZERO, before - cycles(compare));
+		return true;
+	}
+
+	//A long word instruction that sets N and Z from the value of Dn and clears V and C,
+	//followed by TST.L Dn (a TST of another size tests part of Dn, so it stays)
+	private boolean redundantTest(int i){
+		Instruction test = code.get(i);
+		int p = previous(i);
+		Instruction setter;
+		EffectiveAddress register = test.getDestination();
+
+		if(test.getOpcode() != Instruction.Opcode.TST || test.getSize() != Instruction.Size.L
+				|| !register.isDataRegister() || isTarget(i) || p == -1 || isJump(code.get(p)))
+			return false;
+
+		setter = code.get(p);
+		switch(setter.getOpcode()){
+			case MOVE:
+				if(setter.getSize() != Instruction.Size.L || !(register.isSame(setter.getDestination())
+						|| (register.isSame(setter.getSource()) && !isAddressRegister(setter.getDestination()))))
+					return false;
+				break;
+			case MOVEQ:
+				if(!register.isSame(setter.getDestination()))
+					return false;
+				break;
+			case AND: case ANDI: case OR: case ORI: case NOT: case CLR:
+				if(setter.getSize() != Instruction.Size.L || !register.isSame(setter.getDestination()))
+					return false;
+				break;
+			default:
+				return false;
+		}
+
+		remove(i);
+		record(Rule.REDUNDANT_TEST, cycles(test));
+		return true;
+	}
+
+	//MOVEQ #k,Dn (or CLR.L Dn) followed by a conditional branch: the branch is always or
+	//never taken
+	private boolean knownBranch(int i){
+		Instruction branch = code.get(i);
+		int p = previous(i);
+		Integer value;
+
+		if(!branch.getOpcode().isConditionalBranch() || isTarget(i) || p == -1)
+			return false;
+		if((value = knownValue(code.get(p), null)) == null)
+			return false;
+
+		if(holds(branch.getOpcode(), value)){
+			branch.setOpcode(Instruction.Opcode.BRA);
+			record(Rule.KNOWN_BRANCH, 0);
+		}else{
+			remove(i);
+			record(Rule.KNOWN_BRANCH, cycles(branch));
+		}
+		return true;
+	}
+
+	//MOVEQ #k,Dn (or CLR.L Dn) followed by a jump to TST Dn and a conditional branch: the
+	//jump can go straight to where the branch would go
+	private boolean knownTest(int i){
+		Instruction jump = code.get(i);
+		int p = previous(i);
+		int t, u, destination;
+		Integer value;
+
+		if(!isJump(jump) || isTarget(i) || p == -1 || isJump(code.get(p)))
+			return false;
+		t = target(i);
+		if(t == -1 || code.get(t).getOpcode() != Instruction.Opcode.TST)
+			return false;
+		if((value = knownValue(code.get(p), code.get(t).getDestination())) == null)
+			return false;
+		u = next(t);
+		if(u == -1 || !code.get(u).getOpcode().isConditionalBranch())
+			return false;
+
+		destination = holds(code.get(u).getOpcode(), value) ? target(u) : next(u);
+		if(destination == -1 || destination == t)
+			return false;
+
+		retarget(i, destination);
+		record(Rule.KNOWN_TEST, cycles(code.get(t)) + cycles(code.get(u)));
+		return true;
+	}
+
+	//A jump to a BRA or JMP can go straight to where that one goes
+	private boolean jumpChain(int i){
+		Instruction jump = code.get(i);
+		int t, destination;
+		int saved = 0;
+
+		if(!jump.getOpcode().isBranch() && jump.getOpcode() != Instruction.Opcode.JMP)
+			return false;
+		t = target(i);
+		destination = t;
+		for(int hops = 0; hops < 8 && destination != -1 && destination != i
+				&& isJump(code.get(destination)); hops++){
+			saved += cycles(code.get(destination));
+			destination = target(destination);
+		}
+		if(destination == -1 || destination == t || destination == i)
+			return false;
+
+		retarget(i, destination);
+		record(Rule.JUMP_CHAIN, saved);
+		return true;
+	}
+
+	//Bcc L1, BRA L2, L1: becomes B!cc L2
+	private boolean branchOverJump(int i){
+		Instruction branch = code.get(i);
+		int j = next(i);
+
+		if(!branch.getOpcode().isConditionalBranch() || j == -1 || isTarget(j) || !isJump(code.get(j))
+				|| target(i) != next(j) || target(j) == -1)
+			return false;
+
+		branch.setOpcode(branch.getOpcode().inverse());
+		retarget(i, target(j));
+		remove(j);
+		record(Rule.BRANCH_OVER_JUMP, cycles(code.get(j)));
+		return true;
+	}
+
+	//A jump or branch to the instruction after it
+	private boolean jumpToNext(int i){
+		Instruction jump = code.get(i);
+		if(!jump.getOpcode().isBranch() && jump.getOpcode() != Instruction.Opcode.JMP)
+			return false;
+		if(target(i) != next(i))
+			return false;
+
+		remove(i);
+		record(Rule.JUMP_TO_NEXT, cycles(jump));
+		return true;
+	}
+
+	//An instruction after a BRA or JMP that nothing jumps to
+	private boolean unreachable(int i){
+		int p = previous(i);
+		if(isTarget(i) || p == -1 || !isJump(code.get(p)) || code.get(i).getOpcode() == Instruction.Opcode.ORG)
+			return false;
+
+		remove(i);
+		record(Rule.UNREACHABLE, 0);
+		return true;
+	}
+
+	//An instruction whose only effect is to write a register that is dead after it
+	private boolean deadWrite(int i){
+		Instruction write = code.get(i);
+		EffectiveAddress destination = write.getDestination();
+
+		switch(write.getOpcode()){
+			case MOVE: case MOVEA: case MOVEQ: case CLR:
+			case ADD: case ADDI: case ADDA: case SUB: case SUBI: case SUBA:
+			case AND: case ANDI: case OR: case ORI: case NEG: case NOT:
+				break;
+			default:
+				return false;
+		}
+		if(destination == null || !destination.isRegister() || write.getSize() == Instruction.Size.B
+				|| write.getSize() == Instruction.Size.W || (liveOut[i] & bit(destination)) != 0)
+			return false;
+		if(setsFlags(write) && flagsNeeded(i))
+			return false;
+
+		remove(i);
+		record(Rule.DEAD_WRITE, cycles(write));
+		return true;
+	}
+
+	//MOVE.L An,Dn, ADD (or SUB) X,Dn, MOVEA.L Dn,An becomes ADDA (or SUBA) X,An, if Dn is dead
+	//after
+	private boolean addressArithmetic(int i){
+		Instruction move = code.get(i);
+		int j = next(i);
+		int l = j == -1 ? -1 : next(j);
+		Instruction operation, back;
+		EffectiveAddress register = move.getSource();
+		EffectiveAddress temporary = move.getDestination();
+		int before;
+
+		if(move.getOpcode() != Instruction.Opcode.MOVE || move.getSize() != Instruction.Size.L
+				|| !isAddressRegister(register) || !temporary.isDataRegister()
+				|| l == -1 || isTarget(j) || isTarget(l))
+			return false;
+
+		operation = code.get(j);
+		back = code.get(l);
+		switch(operation.getOpcode()){
+			case ADD: case ADDI: case SUB: case SUBI:
+				break;
+			default:
+				return false;
+		}
+		if(!temporary.isSame(operation.getDestination()) || temporary.isSame(operation.getSource())
+				|| back.getOpcode() != Instruction.Opcode.MOVEA || !temporary.isSame(back.getSource())
+				|| !register.isSame(back.getDestination()) || (liveOut[l] & bit(temporary)) != 0
+				|| flagsNeeded(l))
+			return false;
+
+		before = cycles(move) + cycles(operation) + cycles(back);
+		move.setOpcode(operation.getOpcode() == Instruction.Opcode.ADD || operation.getOpcode() == Instruction.Opcode.ADDI
+				? Instruction.Opcode.ADDA : Instruction.Opcode.SUBA);
+		move.setSource(operation.getSource());
+		move.setDestination(register);
+		remove(j);
+		remove(l);
+		record(Rule.ADDRESS_ARITHMETIC, before - cycles(move));
+		return true;
+	}
+
+	//MOVE.L An,Dn, CMP (or CMPI) X,Dn becomes CMPA X,An, if Dn is dead after
+	private boolean addressCompare(int i){
+		Instruction move = code.get(i);
+		int j = next(i);
+		Instruction compare;
+		EffectiveAddress register = move.getSource();
+		EffectiveAddress temporary = move.getDestination();
+		int before;
+
+		if(move.getOpcode() != Instruction.Opcode.MOVE || move.getSize() != Instruction.Size.L
+				|| !isAddressRegister(register) || !temporary.isDataRegister() || j == -1 || isTarget(j))
+			return false;
+
+		compare = code.get(j);
+		if((compare.getOpcode() != Instruction.Opcode.CMP && compare.getOpcode() != Instruction.Opcode.CMPI)
+				|| compare.getSize() != Instruction.Size.L || !temporary.isSame(compare.getDestination())
+				|| temporary.isSame(compare.getSource()) || (liveOut[j] & bit(temporary)) != 0)
+			return false;
+
+		before = cycles(move) + cycles(compare);
+		move.setOpcode(Instruction.Opcode.CMPA);
+		move.setSource(compare.getSource());
+		move.setDestination(register);
+		remove(j);
+		record(Rule.ADDRESS_COMPARE, before - cycles(move));
+		return true;
+	}
+	//*********************************************************************************************
+	// End Rule Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Known Value Method
+	//		Returns the value an instruction loads into a data register (the given one, if it
+	//		isn't null), if it is a MOVEQ or CLR.L, or else null
+	//
+	//*********************************************************************************************
+	private static Integer knownValue(Instruction instruction, EffectiveAddress register){
+		if(register != null && !register.isSame(instruction.getDestination()))
+			return null;
+		if(instruction.getOpcode() == Instruction.Opcode.MOVEQ)
+			return instruction.getSource().getValue();
+		if(instruction.getOpcode() == Instruction.Opcode.CLR && instruction.getSize() == Instruction.Size.L
+				&& instruction.getDestination().isDataRegister())
+			return 0;
+		return null;
+	}
+	//*********************************************************************************************
+	// End Known Value Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Holds Method
+	//		Is a conditional branch taken after the flags are set from the given value (with V
+	//		and C clear)?
+	//
+	//*********************************************************************************************
+	private static boolean holds(Instruction.Opcode branch, int value){
+		switch(branch){
+			case BEQ:	return value == 0;
+			case BNE:	return value != 0;
+			case BLT:	return value < 0;
+			case BLE:	return value <= 0;
+			case BGT:	return value > 0;
+			case BGE:	return value >= 0;
+			default:	return true;
+		}
+	}
+	//*********************************************************************************************
+	// End Holds Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Flags Methods
+	//		Does an instruction set the condition codes (from its result), or read them? Does
+	//		anything read the flags set by instruction i before they are set again? That is
+	//		followed through jumps for a few instructions; running out of instructions to
+	//		follow is taken as a read. The traps leave the flags undefined, so nothing after
+	//		one reads flags set before it.
+	//
+	//*********************************************************************************************
+	private static boolean setsFlags(Instruction instruction){
+		switch(instruction.getOpcode()){
+			case MOVE:
+				return !isAddressRegister(instruction.getDestination());
+			case MOVEQ: case CLR: case TST: case CMP: case CMPI: case CMPA:
+			case ADD: case ADDI: case SUB: case SUBI:
+			case AND: case ANDI: case OR: case ORI: case NEG: case NOT:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static boolean readsFlags(Instruction instruction){
+		return instruction.getOpcode().isConditionalBranch() || instruction.getOpcode().isSet();
+	}
+
+	private boolean flagsNeeded(int i){
+		Instruction instruction;
+		int k = next(i);
+
+		for(int steps = 0; k != -1; steps++){
+			instruction = code.get(k);
+			if(steps == 16 || readsFlags(instruction))
+				return true;
+			if(setsFlags(instruction) || instruction.getOpcode() == Instruction.Opcode.TRAP)
+				return false;
+			k = isJump(instruction) ? target(k) : next(k);
+		}
+		return false;
+	}
+	//*********************************************************************************************
+	// End Flags Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Find Targets Method
+	//		Counts the jumps to each instruction
+	//
+	//*********************************************************************************************
+	private void findTargets(){
+		EffectiveAddress destination;
+		targetCount = new int[code.size()];
+		for(Instruction instruction : code){
+			destination = instruction.getDestination();
+			if(destination != null && destination.getKind() == EffectiveAddress.Kind.LABEL)
+				targetCount[destination.getValue()]++;
+		}
+	}
+	//*********************************************************************************************
+	// End Find Targets Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Find Live Registers Method
+	//		Finds the registers live after each instruction, by going backwards over the code
+	//		until nothing changes. Nothing is live at the end of the code.
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// liveIn			int[]			The registers live before each instruction
+	// out, in			int				The new sets for the current instruction
+	//
+	//*********************************************************************************************
+	private void findLiveRegisters(){
+		int size = code.size();
+		int[] liveIn = new int[size];
+		Instruction instruction;
+		int out, in;
+		boolean changed;
+
+		liveOut = new int[size];
+		do{
+			changed = false;
+			for(int i = size - 1; i >= 0; i--){
+				instruction = code.get(i);
+				out = 0;
+				if(isJump(instruction) || instruction.getOpcode().isConditionalBranch())
+					out = liveIn[instruction.getDestination().getValue()];
+				if(!isJump(instruction) && i + 1 < size)
+					out |= liveIn[i + 1];
+
+				in = uses(instruction) | (out & ~defines(instruction));
+				if(out != liveOut[i] || in != liveIn[i]){
+					liveOut[i] = out;
+					liveIn[i] = in;
+					changed = true;
+				}
+			}
+		}while(changed);
+	}
+	//*********************************************************************************************
+	// End Find Live Registers Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Register Methods
+	//		The registers an instruction reads and writes, one bit per register. A move or clear
+	//		of less than a long word keeps the rest of the register, so it reads it too (as does
+	//		an Scc, which only sets the low byte).
+	//
+	//*********************************************************************************************
+	private static int uses(Instruction instruction){
+		switch(instruction.getOpcode()){
+			case MOVE: case MOVEA: case MOVEQ: case CLR:
+				if(instruction.getSize() == Instruction.Size.B || instruction.getSize() == Instruction.Size.W)
+					return bit(instruction.getSource()) | bit(instruction.getDestination());
+				return bit(instruction.getSource());
+			case TRAP:
+				//Putting a string only reads A0; the other traps are taken to read D0
+				if(instruction.getSource().getValue() == 3)
+					return bit(EffectiveAddress.addressRegister(0));
+				return bit(EffectiveAddress.dataRegister(0));
+			default:
+				return bit(instruction.getSource()) | bit(instruction.getDestination());
+		}
+	}
+
+	private static int defines(Instruction instruction){
+		switch(instruction.getOpcode()){
+			case CMP: case CMPI: case CMPA: case TST: case TRAP:
+				return 0;
+			default:
+				return bit(instruction.getDestination());
+		}
+	}
+
+	private static int bit(EffectiveAddress operand){
+		if(operand == null || !operand.isRegister())
+			return 0;
+		return 1 << operand.getRegisterNumber();
+	}
+	//*********************************************************************************************
+	// End Register Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Code Methods
+	//		Find the instructions around the given one that haven't been deleted, and the one a
+	//		jump goes to (-1 if there is none)
+	//
+	//*********************************************************************************************
+	private int next(int i){
+		for(int k = i + 1; k < code.size(); k++)
+			if(!removed[k])
+				return k;
+		return -1;
+	}
+
+	private int previous(int i){
+		for(int k = i - 1; k >= 0; k--)
+			if(!removed[k])
+				return k;
+		return -1;
+	}
+
+	private int target(int i){
+		int k = code.get(i).getDestination().getValue();
+		return removed[k] ? next(k) : k;
+	}
+
+	private boolean isTarget(int i){
+		return targetCount[i] > 0;
+	}
+
+	//Is the instruction a BRA or JMP?
+	private static boolean isJump(Instruction instruction){
+		return instruction.getOpcode() == Instruction.Opcode.BRA || instruction.getOpcode() == Instruction.Opcode.JMP;
+	}
+
+	private static boolean isMove(Instruction instruction){
+		return (instruction.getOpcode() == Instruction.Opcode.MOVE || instruction.getOpcode() == Instruction.Opcode.MOVEA)
+				&& instruction.getSize() == Instruction.Size.L;
+	}
+
+	private static boolean isAddressRegister(EffectiveAddress operand){
+		return operand != null && operand.getKind() == EffectiveAddress.Kind.ADDRESS_REGISTER;
+	}
+	//*********************************************************************************************
+	// End Code Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Rewrite Methods
+	//		Delete an instruction, point a jump at another instruction, and count a rewrite
+	//
+	//*********************************************************************************************
+	private void remove(int i){
+		int k;
+		removed[i] = true;
+
+		//The jumps to it now go to the next instruction
+		if(targetCount[i] > 0 && (k = next(i)) != -1)
+			targetCount[k] += targetCount[i];
+	}
+
+	private void retarget(int i, int destination){
+		code.get(i).setDestination(EffectiveAddress.label(destination));
+		targetCount[destination]++;
+	}
+
+	private void record(Rule rule, int cycles){
+		counts[rule.ordinal()]++;
+		cyclesSaved[rule.ordinal()] += cycles;
+	}
+	//*********************************************************************************************
+	// End Rewrite Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Compact Method
+	//		Removes the deleted instructions from the code and moves every label to the new
+	//		index of its target (or of the instruction after it, if it was deleted)
+	//
+	// Variables		Type					Description
+	// ---------		--------------------	-------------------------------------------
+	// kept				ArrayList<Instruction>	The instructions that weren't deleted
+	// newIndex			int[]					Where each instruction ended up in kept
+	//
+	//*********************************************************************************************
+	private void compact(){
+		ArrayList<Instruction> kept = new ArrayList<Instruction>(code.size());
+		int[] newIndex = new int[code.size() + 1];
+		EffectiveAddress destination;
+
+		for(int i = 0; i < code.size(); i++){
+			newIndex[i] = kept.size();
+			if(!removed[i])
+				kept.add(code.get(i));
+		}
+		newIndex[code.size()] = kept.size();
+		if(kept.size() == code.size())
+			return;
+
+		for(Instruction instruction : kept){
+			destination = instruction.getDestination();
+			if(destination != null && destination.getKind() == EffectiveAddress.Kind.LABEL)
+				instruction.setDestination(EffectiveAddress.label(newIndex[destination.getValue()]));
+		}
+
+		code.clear();
+		code.addAll(kept);
+	}
+	//*********************************************************************************************
+	// End Compact Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Cycles Method
+	//		Estimates the cycles an instruction takes on the 68000 (long word operations, branches
+	//		taken). The multiply and divide are the slowest forms of MULS and DIVS.
+	//
+	//*********************************************************************************************
+	static int cycles(Instruction instruction){
+		EffectiveAddress source = instruction.getSource();
+		switch(instruction.getOpcode()){
+			case MOVE: case MOVEA:
+				return 4 + access(source, instruction.getSize()) + access(instruction.getDestination(), instruction.getSize());
+			case MOVEQ: case TST:
+				return 4;
+			case CLR: case NEG: case NOT:
+			case SEQ: case SNE: case SLT: case SLE: case SGT: case SGE:
+				return 6;
+			case ADD: case SUB: case AND: case OR: case ADDA: case SUBA:
+				return source.isRegister() ? 8 : 6 + access(source, Instruction.Size.L);
+			case CMP: case CMPA:
+				return 6 + access(source, Instruction.Size.L);
+			case ADDI: case SUBI: case ANDI: case ORI:
+				return 16;
+			case CMPI:
+				return 14;
+			case MUL: case MULI:
+				return 70;
+			case DIV: case DIVI:
+				return 158;
+			case BRA: case BEQ: case BNE: case BLT: case BLE: case BGT: case BGE:
+				return 10;
+			case JMP:
+				return 12;
+			case TRAP:
+				return 34;
+			default:
+				return 0;
+		}
+	}
+
+	//The cycles taken to read or write an operand
+	private static int access(EffectiveAddress operand, Instruction.Size size){
+		if(operand == null || operand.isRegister())
+			return 0;
+		if(operand.getKind() == EffectiveAddress.Kind.IMMEDIATE)
+			return size == Instruction.Size.L ? 8 : 4;
+		return size == Instruction.Size.L ? 16 : 12;
+	}
+	//*********************************************************************************************
+	// End Cycles Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Methods
+	//*********************************************************************************************
+	public int getCount(Rule rule){
+		return counts[rule.ordinal()];
+	}
+
+	public long getCyclesSaved(Rule rule){
+		return cyclesSaved[rule.ordinal()];
+	}
+
+	//Returns a line for each rule that was applied, with its count and the cycles it saved
+	public ArrayList<String> report(){
+		ArrayList<String> lines = new ArrayList<String>();
+		for(Rule rule : Rule.values())
+			if(counts[rule.ordinal()] > 0)
+				lines.add(String.format("%-20s %6d  %8d cycles  %s", rule.name(), counts[rule.ordinal()],
+						cyclesSaved[rule.ordinal()], rule.getDescription()));
+		return lines;
+	}
+	//*********************************************************************************************
+	// End Get Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End PeepholeOptimizer Class
+//*************************************************************************************************
@@ -2,7 +2,13 @@
 
 //*************************************************************************************************
 // Begin Quad Class
-//	This class represents a quad
+//	This class represents a quad. Quads are stored in a QuadBuffer; a Quad object is a view of
+//	one of them (the buffer and the quad's number), and reads and writes go straight to the
+//	buffer.
+//
+//	Operands are handles into the symbol table (see the Operand class), with Operand.NONE for
+//	an unused field. For jeqz and jump quads the result field holds the number of the target
+//	quad.
 //
 //*************************************************************************************************
 public class Quad {
@@ -12,35 +18,28 @@ public class Quad {
 	//
 	// Variables		Type			Description
 	// ---------		--------		-------------------------------------------
-	// operation		String			The operation for the quad (e.g. +,-,jeqz,<, etc ...)
-	// arg1				TwoTuple		The first operand and its next use value
-	// arg2				TwoTuple		The second operand and its next use value
-	// result			TwoTuple		The result/destination and its next use value
-	// isLeader			boolean			Does this quad start a basic block?
-	// address			String			The address of this quad during codeGen
-	//										Using Integer.toHexString(...)
+	// buffer			QuadBuffer		The buffer holding the quad. For each quad it stores:
+	//										the operation (ADD, SUB, JEQZ, LT, etc ...),
+	//										the first and second operands (handles) and their
+	//										next use values, the result/destination (handle or
+	//										target quad) and its next use value, whether the
+	//										quad starts a basic block, and where the quad's
+	//										code starts during codeGen
+	// index			int				The quad's number in the buffer
 	//
 	//*********************************************************************************************
-	private String operation;
-	private TwoTuple arg1;
-	private TwoTuple arg2;
-	private TwoTuple result;
-	private boolean isLeader;
-	private String address;
+	private final QuadBuffer buffer;
+	private final int index;
 
 	
 	//*********************************************************************************************
 	// Begin Constructor 
-	//		Initializes class variables
+	//		Initializes class variables. (Quads are created by QuadBuffer.get)
 	//
 	//*********************************************************************************************
-	public Quad (String operation, String arg1, String arg2, String result){
-		this.operation = operation;
-		this.arg1 = new TwoTuple(arg1, 0);
-		this.arg2 = new TwoTuple(arg2, 0);
-		this.result = new TwoTuple(result, 0);
-		isLeader = false;
-		address = "0";
+	Quad (QuadBuffer buffer, int index){
+		this.buffer = buffer;
+		this.index = index;
 	}
 	//*********************************************************************************************
 	// End Constructor
@@ -50,76 +49,80 @@ public class Quad {
 	//*********************************************************************************************
 	// Begin Get/Set Methods
 	//*********************************************************************************************
-	public void setOperation(String operation){
-		this.operation = operation;
+	public int getIndex(){
+		return index;
+	}
+	
+	public void setOperation(QuadOp operation){
+		buffer.setOperation(index, operation);
 	}
 	
-	public String getOperation(){
-		return operation;
+	public QuadOp getOperation(){
+		return buffer.getOperation(index);
 	}
 	
-	public void setArg1Name(String name){
-		this.arg1.name = name;
+	public void setArg1(int operand){
+		buffer.setArg1(index, operand);
 	}
 	
 	public void setArg1NextUse(int nextUse){
-		this.arg1.nextUse = nextUse;
+		buffer.setArg1NextUse(index, nextUse);
 	}
 	
-	public String getArg1Name(){
-		return arg1.name;
+	public int getArg1(){
+		return buffer.getArg1(index);
 	}
 	
 	public int getArg1NextUse(){
-		return arg1.nextUse;
+		return buffer.getArg1NextUse(index);
 	}
 	
-	public void setArg2Name(String name){
-		this.arg2.name = name;
+	public void setArg2(int operand){
+		buffer.setArg2(index, operand);
 	}
 	
 	public void setArg2NextUse(int nextUse){
-		this.arg2.nextUse = nextUse;
+		buffer.setArg2NextUse(index, nextUse);
 	}
 	
-	public String getArg2Name(){
-		return arg2.name;
+	public int getArg2(){
+		return buffer.getArg2(index);
 	}
 	
 	public int getArg2NextUse(){
-		return arg2.nextUse;
+		return buffer.getArg2NextUse(index);
 	}
 	
-	public void setResultName(String name){
-		this.result.name = name;
+	public void setResult(int operand){
+		buffer.setResult(index, operand);
 	}
 	
 	public void setResultNextUse(int nextUse){
-		this.result.nextUse = nextUse;
+		buffer.setResultNextUse(index, nextUse);
 	}
 	
-	public String getResultName(){
-		return result.name;
+	public int getResult(){
+		return buffer.getResult(index);
 	}
 	
 	public int getResultNextUse(){
-		return result.nextUse;
+		return buffer.getResultNextUse(index);
 	}
 	
 	public void setLeader(boolean leader){
-		isLeader = leader;
+		buffer.setLeader(index, leader);
 	}
 	
 	public boolean isLeader(){
-		return isLeader;
+		return buffer.isLeader(index);
 	}
 	
-	public void setAddress(String a){
-		address = a;
+	public void setCodeIndex(int codeIndex){
+		buffer.setCodeIndex(index, codeIndex);
 	}
 	
-	public String getAddress(){
-		return address;
+	public int getCodeIndex(){
+		return buffer.getCodeIndex(index);
 	}
 	//*********************************************************************************************
 	// End Get/Set Methods
@@ -131,37 +134,29 @@ public class Quad {
 	//*********************************************************************************************
 	@Override
 	public String toString(){
-		return (operation + "," + arg1.name + "," + arg2.name + "," + result.name);
+		return (getOperation().getSymbol() + "," + Operand.toString(getArg1()) + ","
+				+ Operand.toString(getArg2()) + "," + resultToString());
 	}
 	
 	public String formattedToString(){
-		return String.format("%4s,%3s,%3s,%3s", operation, arg1.name, arg2.name, result.name);
+		return String.format("%4s,%3s,%3s,%3s", getOperation().getSymbol(), Operand.toString(getArg1()),
+				Operand.toString(getArg2()), resultToString());
 	}
 	
 	public String formattedFullToString(){
-		return String.format("%4s,%3s / %4d,%3s / %4d,%3s / %4d, Addr %5d", operation, arg1.name, arg1.nextUse, 
-				arg2.name, arg2.nextUse, result.name, result.nextUse, address);
+		return String.format("%4s,%3s / %4d,%3s / %4d,%3s / %4d, Code %5d", getOperation().getSymbol(),
+				Operand.toString(getArg1()), getArg1NextUse(), Operand.toString(getArg2()), getArg2NextUse(),
+				resultToString(), getResultNextUse(), getCodeIndex());
 	}
-	//*********************************************************************************************
-	// End toString Methods
-	//*********************************************************************************************
-	
 	
-	//*********************************************************************************************
-	// TwoTuple Class
-	//		Used to hold an operand and its next use value
-	//*********************************************************************************************
-	class TwoTuple {
-		public String name;
-		public int nextUse;
-		
-		public TwoTuple(String n, int nU){
-			name = n;
-			nextUse = nU;
-		}
+	//Jump targets are quad numbers rather than operand handles
+	private String resultToString(){
+		if(getOperation().isBranch())
+			return String.valueOf(getResult());
+		return Operand.toString(getResult());
 	}
 	//*********************************************************************************************
-	// End TwoTuple Class
+	// End toString Methods
 	//*********************************************************************************************
 }
 //*********************************************************************************************
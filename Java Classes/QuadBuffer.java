@@ -0,0 +1,243 @@
+
+
+import java.util.Arrays;
+import java.util.BitSet;
+//*************************************************************************************************
+// Begin QuadBuffer Class
+//	This class stores the quads of a program without an object per quad. Every field of a quad
+//	is a column of ints (the operation is stored as its ordinal), and the leader flags are a
+//	BitSet. The columns are kept in fixed-size chunks of CHUNK_SIZE quads, so the buffer grows
+//	by adding a chunk and never copies the quads it already holds.
+//
+//	The code generator's inner loops read the columns directly by quad number. get() returns a
+//	Quad, a lightweight view of one quad in the buffer, for code that would rather work with
+//	quad objects.
+//
+//*************************************************************************************************
+public class QuadBuffer {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// OPERATION...		int				The columns of a quad (CODE_INDEX is the index of the
+	//									quad's first instruction in the code generator's code
+	//									list, 0 until code generation reaches it)
+	// COLUMNS			int				The number of columns
+	// CHUNK_BITS		int				log2 of the number of quads in a chunk (CHUNK_SIZE)
+	// CHUNK_MASK		int				Selects a quad's position within its chunk
+	// OPERATIONS		QuadOp[]		The operations, indexed by ordinal
+	// chunks			int[][]			The chunks. Within a chunk each column is a run of
+	//									CHUNK_SIZE ints, so a column is contiguous in memory
+	// leaders			BitSet			Which quads start a basic block
+	// size				int				The number of quads in the buffer
+	//
+	//*********************************************************************************************
+	private static final int OPERATION = 0;
+	private static final int ARG1 = 1;
+	private static final int ARG2 = 2;
+	private static final int RESULT = 3;
+	private static final int ARG1_NEXT_USE = 4;
+	private static final int ARG2_NEXT_USE = 5;
+	private static final int RESULT_NEXT_USE = 6;
+	private static final int CODE_INDEX = 7;
+	private static final int COLUMNS = 8;
+
+	private static final int CHUNK_BITS = 12;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final QuadOp[] OPERATIONS = QuadOp.values();
+
+	private int[][] chunks = new int[16][];
+	private BitSet leaders = new BitSet();
+	private int size = 0;
+
+
+	//*********************************************************************************************
+	// Begin Add Method
+	//		Appends a quad and returns its quad number. Next use values and the code
+	//		index start at 0.
+	//
+	//*********************************************************************************************
+	public int add(QuadOp operation, int arg1, int arg2, int result){
+		int index = size;
+		int chunk = index >>> CHUNK_BITS;
+
+		if(chunk == chunks.length)
+			chunks = Arrays.copyOf(chunks, chunks.length * 2);
+		if(chunks[chunk] == null)
+			chunks[chunk] = new int[COLUMNS * CHUNK_SIZE];
+
+		set(index, OPERATION, operation.ordinal());
+		set(index, ARG1, arg1);
+		set(index, ARG2, arg2);
+		set(index, RESULT, result);
+		size++;
+		return index;
+	}
+	//*********************************************************************************************
+	// End Add Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Remove NOPs Method
+	//		Removes the NOP quads, moving the quads after them down, and points each jump at the
+	//		new number of its target (a jump to a NOP goes to the quad after it). The leader
+	//		flags are cleared, as the blocks have changed. Returns the number of quads removed.
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// newIndex			int[]			The new number of each quad (and of the end of the
+	//									quads), or of the next quad kept after a NOP
+	// kept				int				The number of quads kept so far
+	//
+	//*********************************************************************************************
+	public int removeNops(){
+		int[] newIndex = new int[size + 1];
+		int nop = QuadOp.NOP.ordinal();
+		int kept = 0;
+		int removed;
+
+		for(int i = 0; i < size; i++){
+			newIndex[i] = kept;
+			if(get(i, OPERATION) != nop)
+				kept++;
+		}
+		newIndex[size] = kept;
+		removed = size - kept;
+		if(removed == 0)
+			return 0;
+
+		kept = 0;
+		for(int i = 0; i < size; i++){
+			if(get(i, OPERATION) == nop)
+				continue;
+			for(int column = 0; column < COLUMNS; column++)
+				set(kept, column, get(i, column));
+			if(OPERATIONS[get(kept, OPERATION)].isBranch())
+				set(kept, RESULT, newIndex[get(kept, RESULT)]);
+			kept++;
+		}
+
+		size = kept;
+		leaders.clear();
+		return removed;
+	}
+	//*********************************************************************************************
+	// End Remove NOPs Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Method
+	//		Returns a view of the given quad. Changes made through the view go to the buffer.
+	//
+	//*********************************************************************************************
+	public Quad get(int index){
+		if(index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Quad " + index + ", size " + size);
+		return new Quad(this, index);
+	}
+	//*********************************************************************************************
+	// End Get Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get/Set Methods
+	//		Read and write one field of the given quad
+	//
+	//*********************************************************************************************
+	public int size(){
+		return size;
+	}
+
+	public QuadOp getOperation(int index){
+		return OPERATIONS[get(index, OPERATION)];
+	}
+
+	public void setOperation(int index, QuadOp operation){
+		set(index, OPERATION, operation.ordinal());
+	}
+
+	public int getArg1(int index){
+		return get(index, ARG1);
+	}
+
+	public void setArg1(int index, int operand){
+		set(index, ARG1, operand);
+	}
+
+	public int getArg2(int index){
+		return get(index, ARG2);
+	}
+
+	public void setArg2(int index, int operand){
+		set(index, ARG2, operand);
+	}
+
+	public int getResult(int index){
+		return get(index, RESULT);
+	}
+
+	public void setResult(int index, int operand){
+		set(index, RESULT, operand);
+	}
+
+	public int getArg1NextUse(int index){
+		return get(index, ARG1_NEXT_USE);
+	}
+
+	public void setArg1NextUse(int index, int nextUse){
+		set(index, ARG1_NEXT_USE, nextUse);
+	}
+
+	public int getArg2NextUse(int index){
+		return get(index, ARG2_NEXT_USE);
+	}
+
+	public void setArg2NextUse(int index, int nextUse){
+		set(index, ARG2_NEXT_USE, nextUse);
+	}
+
+	public int getResultNextUse(int index){
+		return get(index, RESULT_NEXT_USE);
+	}
+
+	public void setResultNextUse(int index, int nextUse){
+		set(index, RESULT_NEXT_USE, nextUse);
+	}
+
+	public int getCodeIndex(int index){
+		return get(index, CODE_INDEX);
+	}
+
+	public void setCodeIndex(int index, int codeIndex){
+		set(index, CODE_INDEX, codeIndex);
+	}
+
+	public boolean isLeader(int index){
+		return leaders.get(index);
+	}
+
+	public void setLeader(int index, boolean leader){
+		leaders.set(index, leader);
+	}
+
+	private int get(int index, int column){
+		return chunks[index >>> CHUNK_BITS][(column << CHUNK_BITS) | (index & CHUNK_MASK)];
+	}
+
+	private void set(int index, int column, int value){
+		chunks[index >>> CHUNK_BITS][(column << CHUNK_BITS) | (index & CHUNK_MASK)] = value;
+	}
+	//*********************************************************************************************
+	// End Get/Set Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End QuadBuffer Class
+//*************************************************************************************************
@@ -0,0 +1,128 @@
+
+
+//*************************************************************************************************
+// Begin QuadOp Enumeration
+//	The operation of a quad. The parser picks the operation once, when it matches the operator,
+//	and the code generator dispatches on it with a switch. Each operation also describes itself
+//	so later passes don't need to know the individual operations:
+//
+//		symbol		How the quad is written when quads are printed (the source operator)
+//		arity		How many operands it reads (arg1, then arg2)
+//		commutative	Can its two operands be swapped without changing the result?
+//		branch		Is it a jump? (Its result field holds the target quad number)
+//		mnemonic	The 68K instruction it is compiled to, or null if it is compiled to a
+//					fixed sequence of instructions (I/O) or to nothing (END, NOP)
+//
+//	NOP is never generated by the parser; optimizations turn quads they remove into NOPs, so
+//	that the quads after them keep their numbers.
+//
+//	Relational operations produce 1 or 0; their mnemonic is the branch taken when the relation
+//	holds.
+//
+//*************************************************************************************************
+public enum QuadOp {
+	//		symbol			arity	commutative	branch	mnemonic
+	ADD		("+",			2,		true,		false,	Instruction.Opcode.ADD),
+	SUB		("-",			2,		false,		false,	Instruction.Opcode.SUB),
+	MUL		("*",			2,		true,		false,	Instruction.Opcode.MUL),
+	DIV		("/",			2,		false,		false,	Instruction.Opcode.DIV),
+	AND		("&",			2,		true,		false,	Instruction.Opcode.AND),
+	OR		("|",			2,		true,		false,	Instruction.Opcode.OR),
+	POS		("+",			1,		false,		false,	Instruction.Opcode.MOVE),
+	NEG		("-",			1,		false,		false,	Instruction.Opcode.NEG),
+	NOT		("^",			1,		false,		false,	Instruction.Opcode.NOT),
+	SQRT	("SQRT",		1,		false,		false,	Instruction.Opcode.SQRT),
+	ABS		("ABS",			1,		false,		false,	Instruction.Opcode.ABS),
+	ASSIGN	(":=",			1,		false,		false,	Instruction.Opcode.MOVE),
+	LT		("<",			2,		false,		false,	Instruction.Opcode.BLT),
+	LE		("<=",			2,		false,		false,	Instruction.Opcode.BLE),
+	EQ		("=",			2,		true,		false,	Instruction.Opcode.BEQ),
+	NE		("/=",			2,		true,		false,	Instruction.Opcode.BNE),
+	GT		(">",			2,		false,		false,	Instruction.Opcode.BGT),
+	GE		(">=",			2,		false,		false,	Instruction.Opcode.BGE),
+	JEQZ	("jeqz",		1,		false,		true,	Instruction.Opcode.BEQ),
+	JUMP	("jump",		0,		false,		true,	Instruction.Opcode.JMP),
+	PUT_INT	("putInt",		1,		false,		false,	null),
+	PUT_STRING("putString",	1,		false,		false,	null),
+	GET		("get",			0,		false,		false,	null),
+	END		("END",			0,		false,		false,	null),
+	NOP		("nop",			0,		false,		false,	null);
+
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// symbol			String			The operation as written in a printed quad
+	// arity			int				The number of operands read
+	// commutative		boolean			Can the operands be swapped?
+	// branch			boolean			Is this a jump?
+	// mnemonic			Opcode			The 68K instruction for this operation (or null)
+	//
+	//*********************************************************************************************
+	private final String symbol;
+	private final int arity;
+	private final boolean commutative;
+	private final boolean branch;
+	private final Instruction.Opcode mnemonic;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables
+	//
+	//*********************************************************************************************
+	QuadOp(String symbol, int arity, boolean commutative, boolean branch, Instruction.Opcode mnemonic){
+		this.symbol = symbol;
+		this.arity = arity;
+		this.commutative = commutative;
+		this.branch = branch;
+		this.mnemonic = mnemonic;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Methods
+	//*********************************************************************************************
+	public String getSymbol(){
+		return symbol;
+	}
+
+	public int getArity(){
+		return arity;
+	}
+
+	public boolean isCommutative(){
+		return commutative;
+	}
+
+	public boolean isBranch(){
+		return branch;
+	}
+
+	public Instruction.Opcode getMnemonic(){
+		return mnemonic;
+	}
+
+	//Does it only compute its result (arithmetic, logical, relational or a copy), so that it
+	//can be removed when the result isn't used?
+	public boolean isPure(){
+		return this.compareTo(GE) <= 0;
+	}
+
+	//Is this one of the six relational operations?
+	public boolean isRelational(){
+		return this.compareTo(LT) >= 0 && this.compareTo(GE) <= 0;
+	}
+	//*********************************************************************************************
+	// End Get Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End QuadOp Enumeration
+//*************************************************************************************************
@@ -0,0 +1,143 @@
+
+
+import java.util.Arrays;
+import java.util.BitSet;
+//*************************************************************************************************
+// Begin RegisterFile Class
+//	This class tracks which operands the code generator has placed in which registers. Each
+//	register's contents are a BitSet of symbol table slots, and a reverse map gives the register
+//	holding each operand, so asking where an operand is costs one array access. An operand is
+//	held by at most one register at a time.
+//
+//	Everything is sized when the register file is made (for a number of registers and the size
+//	of the symbol table), so nothing is allocated while code is generated. Registers are
+//	numbered from 0; the code generator uses 0 - 7 for D0 - D7, and address registers can be
+//	given the numbers after them.
+//
+//*************************************************************************************************
+public class RegisterFile {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// NONE				int				Returned when an operand is in no register
+	// contents			BitSet[]		The slots of the operands held by each register
+	// sizes			int[]			The number of operands held by each register
+	// home				int[]			The register holding each slot, or NONE
+	// operands			int[]			The handle of each slot, so contents can be given
+	//									back as handles
+	//
+	//*********************************************************************************************
+	public static final int NONE = -1;
+
+	private final BitSet[] contents;
+	private final int[] sizes;
+	private final int[] home;
+	private final int[] operands;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Makes a register file of empty registers, for operands in the first slots of the
+	//		symbol table
+	//
+	//*********************************************************************************************
+	public RegisterFile(int registers, int slots){
+		contents = new BitSet[registers];
+		for(int i = 0; i < registers; i++)
+			contents[i] = new BitSet(slots);
+		sizes = new int[registers];
+		home = new int[slots];
+		Arrays.fill(home, NONE);
+		operands = new int[slots];
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Query Methods
+	//*********************************************************************************************
+	public int getRegisterCount(){
+		return contents.length;
+	}
+
+	//Returns the register holding the operand, or NONE
+	public int find(int operand){
+		return home[Operand.slot(operand)];
+	}
+
+	public boolean holds(int register, int operand){
+		return home[Operand.slot(operand)] == register;
+	}
+
+	public boolean isEmpty(int register){
+		return sizes[register] == 0;
+	}
+
+	public int size(int register){
+		return sizes[register];
+	}
+
+	//Returns the operand in the register with the lowest slot, or Operand.NONE if it is empty
+	public int first(int register){
+		int slot = contents[register].nextSetBit(0);
+		return slot == -1 ? Operand.NONE : operands[slot];
+	}
+
+	//Returns the operand in the register with the next slot after the given operand's, or
+	//Operand.NONE if there isn't one
+	public int next(int register, int operand){
+		int slot = contents[register].nextSetBit(Operand.slot(operand) + 1);
+		return slot == -1 ? Operand.NONE : operands[slot];
+	}
+
+	//Returns the first empty register from the given one on, or NONE if they are all in use
+	public int findEmpty(int from){
+		for(int i = from; i < sizes.length; i++)
+			if(sizes[i] == 0)
+				return i;
+		return NONE;
+	}
+	//*********************************************************************************************
+	// End Query Methods
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Update Methods
+	//		put() places an operand in a register, taking it out of any register that held it
+	//		before. remove() takes it out of its register, if it is in one.
+	//
+	//*********************************************************************************************
+	public void put(int register, int operand){
+		int slot = Operand.slot(operand);
+		if(home[slot] == register)
+			return;
+		remove(operand);
+		contents[register].set(slot);
+		sizes[register]++;
+		home[slot] = register;
+		operands[slot] = operand;
+	}
+
+	public void remove(int operand){
+		int slot = Operand.slot(operand);
+		int register = home[slot];
+		if(register == NONE)
+			return;
+		contents[register].clear(slot);
+		sizes[register]--;
+		home[slot] = NONE;
+	}
+	//*********************************************************************************************
+	// End Update Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End RegisterFile Class
+//*************************************************************************************************
@@ -0,0 +1,112 @@
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+//*************************************************************************************************
+// Begin SymbolTable Class
+//	This class holds the symbol table for one compilation: every variable, constant, temporary
+//	and string literal the program uses. Entries are looked up by name through a hash map, and
+//	each entry gets a slot number (its position in the table) that never changes once it is
+//	added. Iterating over the table visits the entries in the order they were added.
+//
+//	The table is also the operand pool for the quads: adding a name returns its operand handle
+//	(see the Operand class), and entries are fetched by handle. Names are matched exactly; the
+//	parser upper-cases identifiers before they get here.
+//
+//*************************************************************************************************
+public class SymbolTable implements Iterable<SymbolTableEntry> {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type								Description
+	// ---------		--------------------------------	---------------------------------------
+	// entries			ArrayList<SymbolTableEntry>			The entries, indexed by slot
+	// slots			HashMap<String, Integer>			The slot of each entry, by name
+	//
+	//*********************************************************************************************
+	private ArrayList<SymbolTableEntry> entries = new ArrayList<SymbolTableEntry>();
+	private HashMap<String, Integer> slots = new HashMap<String, Integer>();
+
+
+	//*********************************************************************************************
+	// Begin Add Method
+	//		Adds an entry of the given kind for the name (in memory, with no next use) and
+	//		returns its operand handle. If the name is already in the table, the existing
+	//		entry's handle is returned instead.
+	//
+	//*********************************************************************************************
+	public int add(String id, int kind){
+		Integer slot = slots.get(id);
+		if(slot != null)
+			return entries.get(slot).getOperand();
+
+		id = id.intern();
+		int operand = Operand.make(kind, entries.size());
+		entries.add(new SymbolTableEntry(operand, id, 0, SymbolTableEntry.Location.MEMORY));
+		slots.put(id, entries.size() - 1);
+		return operand;
+	}
+	//*********************************************************************************************
+	// End Add Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Find Method
+	//		Returns the operand handle of the entry with the given name, or Operand.NONE if there
+	//		is none
+	//
+	//*********************************************************************************************
+	public int find(String id){
+		Integer slot = slots.get(id);
+		return slot == null ? Operand.NONE : entries.get(slot).getOperand();
+	}
+	//*********************************************************************************************
+	// End Find Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Get Methods
+	//*********************************************************************************************
+	public SymbolTableEntry get(int operand){
+		return entries.get(Operand.slot(operand));
+	}
+
+	public String getName(int operand){
+		return entries.get(Operand.slot(operand)).getIdentifier();
+	}
+
+	//Returns the value of a constant: its name, read as a (possibly negative) decimal number
+	//modulo 2^32, as the 68K would
+	public int getValue(int constant){
+		String digits = getName(constant);
+		boolean negative = digits.startsWith("-");
+		int value = 0;
+		for(int i = negative ? 1 : 0; i < digits.length(); i++)
+			value = value * 10 + (digits.charAt(i) - '0');
+		return negative ? -value : value;
+	}
+
+	public boolean contains(String id){
+		return slots.containsKey(id);
+	}
+
+	public int size(){
+		return entries.size();
+	}
+
+	public Iterator<SymbolTableEntry> iterator(){
+		return Collections.unmodifiableList(entries).iterator();
+	}
+	//*********************************************************************************************
+	// End Get Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End SymbolTable Class
+//*************************************************************************************************
@@ -60,11 +60,14 @@ public class SymbolTableEntry {
 	//
 	// Variables		Type			Description
 	// ---------		--------		-------------------------------------------
+	// operand			int				The entry's operand handle (its kind and its slot in
+	//									the symbol table; see the Operand class)
 	// identifier		String			The variable name			
 	// nextUse			int				The next use of this entry (in terms of quad number)
 	// location			Location		The location of this entry - memory, register, etc
 	//
 	//*********************************************************************************************
+	private int operand;
 	private String identifier;
 	private int nextUse;
 	private Location location;
@@ -75,7 +78,8 @@ public class SymbolTableEntry {
 	//		Initializes class variables
 	//
 	//*********************************************************************************************
-	public SymbolTableEntry(String identifier, int nextUse, Location location){
+	public SymbolTableEntry(int operand, String identifier, int nextUse, Location location){
+		this.operand = operand;
 		this.identifier = identifier;
 		this.nextUse = nextUse;
 		this.location = location;
@@ -108,6 +112,18 @@ public class SymbolTableEntry {
 	public String getIdentifier(){
 		return identifier;
 	}
+
+	public int getOperand(){
+		return operand;
+	}
+
+	public int getKind(){
+		return Operand.kind(operand);
+	}
+
+	public int getSlot(){
+		return Operand.slot(operand);
+	}
 	//*********************************************************************************************
 	// End Get/Set Methods
 	//*********************************************************************************************
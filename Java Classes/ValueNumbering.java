@@ -0,0 +1,216 @@
+
+
+import java.util.HashMap;
+//*************************************************************************************************
+// Begin ValueNumbering Class
+//	This class removes common subexpressions within each basic block of the quads, by local
+//	value numbering (which builds the block's DAG implicitly). Every value computed or read in
+//	a block gets a number, and two computations with the same operation on the same numbered
+//	values compute the same value:
+//
+//		$1 := A * B							$1 := A * B
+//		$2 := A * B			becomes			nop
+//		$3 := $1 + $2						$3 := $1 + $1
+//
+//	A variable gets a new number whenever it is assigned, so a computation reading it before the
+//	assignment never matches one reading it after. An assignment only copies a number (x := y
+//	gives x the number of y). A repeated computation is only removed when its result is a
+//	temporary: temporaries are assigned once and only used in the block they are computed in, so
+//	the later uses can all be pointed at the earlier result. Removed quads become NOPs, so jump
+//	targets keep their numbers.
+//
+//*************************************************************************************************
+public class ValueNumbering {
+
+	//*********************************************************************************************
+	//
+	// Class Variables
+	//
+	// Variables		Type					Description
+	// ---------		--------------------	-------------------------------------------
+	// quads			QuadBuffer				The quads to rewrite
+	// symbolTable		SymbolTable				The symbol table
+	// numbers			int[]					The value number of each symbol table slot
+	// replacements		int[]					The earlier temporary standing in for each
+	//											removed one
+	// stamps			int[]					The block in which each slot's number and
+	//											replacement were set; anything set in another
+	//											block is out of date
+	// computations		HashMap<Long, Long>		For each operation on numbered values in the
+	//											current block, the operand holding it and the
+	//											value's number
+	// nextNumber		int						The next value number to give out
+	// block			int						The current block (counting from 1)
+	// removed			int						How many quads have been removed
+	//
+	//*********************************************************************************************
+	private QuadBuffer quads;
+	private SymbolTable symbolTable;
+	private int[] numbers;
+	private int[] replacements;
+	private int[] stamps;
+	private HashMap<Long, Long> computations = new HashMap<Long, Long>();
+	private int nextNumber;
+	private int block = 0;
+	private int removed = 0;
+
+
+	//*********************************************************************************************
+	// Begin Constructor
+	//		Initializes class variables
+	//
+	//*********************************************************************************************
+	public ValueNumbering(QuadBuffer quads, SymbolTable symbolTable){
+		this.quads = quads;
+		this.symbolTable = symbolTable;
+	}
+	//*********************************************************************************************
+	// End Constructor
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Run Method
+	//		Numbers each basic block in turn. Returns the number of quads removed.
+	//
+	//*********************************************************************************************
+	public int run(){
+		ControlFlowGraph cfg = new ControlFlowGraph(quads);
+
+		numbers = new int[symbolTable.size()];
+		replacements = new int[symbolTable.size()];
+		stamps = new int[symbolTable.size()];
+
+		for(BasicBlock basicBlock : cfg.getBlocks()){
+			block++;
+			nextNumber = 1;
+			computations.clear();
+			for(int q = basicBlock.getStart(); q <= basicBlock.getEnd(); q++)
+				number(q);
+		}
+		return removed;
+	}
+	//*********************************************************************************************
+	// End Run Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Number Method
+	//		Numbers the values of one quad, pointing its operands at any temporaries that
+	//		replaced them, and removes it if it computes a value already held by a temporary
+	//
+	// Variables		Type			Description
+	// ---------		--------		-------------------------------------------
+	// op				QuadOp			The operation of the quad
+	// n1, n2			int				The numbers of its operands (0 for none)
+	// key				long			The operation and the numbers it is applied to
+	// earlier			Long			The operand and number of an earlier computation with
+	//									the same key
+	//
+	//*********************************************************************************************
+	private void number(int q){
+		QuadOp op = quads.getOperation(q);
+		int arg1 = replace(quads.getArg1(q));
+		int arg2 = replace(quads.getArg2(q));
+		int result = quads.getResult(q);
+		int n1, n2, swap;
+		long key;
+		Long earlier;
+
+		quads.setArg1(q, arg1);
+		quads.setArg2(q, arg2);
+
+		switch(op){
+			case ADD: case SUB: case MUL: case DIV: case AND: case OR:
+			case LT: case LE: case EQ: case NE: case GT: case GE:
+			case NEG: case NOT: case SQRT: case ABS:
+				n1 = numberOf(arg1);
+				n2 = arg2 == Operand.NONE ? 0 : numberOf(arg2);
+				if(op.isCommutative() && n2 < n1){
+					swap = n1;
+					n1 = n2;
+					n2 = swap;
+				}
+				key = ((long) op.ordinal() << 58) | ((long) n1 << 29) | n2;
+
+				//If a temporary already holds the same value, use it instead of computing it again
+				earlier = computations.get(key);
+				if(earlier != null && numberOf((int) (earlier >>> 32)) == (int) (long) earlier){
+					if(Operand.isTemporary(result)){
+						setReplacement(result, (int) (earlier >>> 32));
+						quads.setOperation(q, QuadOp.NOP);
+						quads.setArg1(q, Operand.NONE);
+						quads.setArg2(q, Operand.NONE);
+						quads.setResult(q, Operand.NONE);
+						removed++;
+					}else{
+						setNumber(result, (int) (long) earlier);
+					}
+					return;
+				}
+
+				setNumber(result, nextNumber++);
+				computations.put(key, ((long) result << 32) | (numberOf(result) & 0xffffffffL));
+				break;
+
+			case ASSIGN: case POS:
+				setNumber(result, numberOf(arg1));
+				break;
+
+			case GET:
+				setNumber(result, nextNumber++);
+				break;
+
+			default:
+				break;
+		}
+	}
+	//*********************************************************************************************
+	// End Number Method
+	//*********************************************************************************************
+
+
+	//*********************************************************************************************
+	// Begin Slot Methods
+	//		Look up and set the number and replacement of an operand in the current block. An
+	//		operand not yet seen in the block gets a new number when it is first looked up.
+	//
+	//*********************************************************************************************
+	private int numberOf(int operand){
+		int slot = Operand.slot(operand);
+		if(stamps[slot] != block){
+			stamps[slot] = block;
+			numbers[slot] = nextNumber++;
+			replacements[slot] = Operand.NONE;
+		}
+		return numbers[slot];
+	}
+
+	private void setNumber(int operand, int number){
+		numberOf(operand);
+		numbers[Operand.slot(operand)] = number;
+	}
+
+	private void setReplacement(int operand, int replacement){
+		numberOf(operand);
+		replacements[Operand.slot(operand)] = replacement;
+	}
+
+	//Returns the temporary that replaced the operand, or the operand itself
+	private int replace(int operand){
+		int slot;
+		if(!Operand.isTemporary(operand))
+			return operand;
+		slot = Operand.slot(operand);
+		if(stamps[slot] != block || replacements[slot] == Operand.NONE)
+			return operand;
+		return replacements[slot];
+	}
+	//*********************************************************************************************
+	// End Slot Methods
+	//*********************************************************************************************
+}
+//*************************************************************************************************
+// End ValueNumbering Class
+//*************************************************************************************************